@@ -0,0 +1,30 @@
+plugins {
+    id("io.micronaut.minimal.library") version "4.6.2"
+    alias(libs.plugins.jmh)
+}
+
+micronaut {
+    runtime("none")
+}
+
+dependencies {
+    // the jmh source set extends implementation, so that the Micronaut BOM manages the versions
+    implementation(projects.consulPopulateCore)
+    implementation(mn.micronaut.jackson.databind)
+    implementation(mn.snakeyaml)
+    implementation(libs.jackson.dataformat.yaml)
+    implementation(libs.vertx.consul)
+    implementation(libs.commons.io)
+
+    runtimeOnly(mn.logback.classic)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // -PjmhIncludes=MapHelper to only run some benchmarks
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    // reports the allocation rate and the GC count alongside the timings
+    profilers.add("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
@@ -0,0 +1,104 @@
+package com.frogdevelopment.consul.populate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.frogdevelopment.consul.populate.config.GlobalProperties;
+import com.frogdevelopment.consul.populate.files.ConfigTrees;
+
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnRequest;
+
+/**
+ * Building the transactions sent by {@link PopulateServiceImpl}: hashing the existing values, computing the operations
+ * and grouping them into {@link TxnRequest}, without calling Consul.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TxnBenchmark {
+
+    private static final String KV_PATH = "config/";
+
+    @Param({"100", "1000", "10000"})
+    private int keyCount;
+
+    @Param({"256", "4096"})
+    private int valueSize;
+
+    /**
+     * Percentage of the existing keys whose value changed
+     */
+    @Param({"10", "100"})
+    private int changedPercent;
+
+    private Map<String, String> configsToImport;
+    private List<KeyValue> existingKeyValues;
+    private Map<String, KvDiff.ExistingValue> existingValues;
+    private TxnBatchWriter txnBatchWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        configsToImport = new LinkedHashMap<>();
+        existingKeyValues = new ArrayList<>();
+        for (var i = 0; i < keyCount; i++) {
+            final var key = KV_PATH + "service-" + i;
+            final var value = ConfigTrees.value(valueSize, key);
+            configsToImport.put(key, value);
+            final var changed = i * 100 / keyCount < changedPercent;
+            existingKeyValues.add(new KeyValue()
+                    .setKey(key)
+                    .setValue(changed ? ConfigTrees.value(valueSize, "old-" + key) : value)
+                    .setModifyIndex(i + 1L));
+        }
+        existingValues = KvDiff.ExistingValue.of(existingKeyValues);
+
+        // no Consul call is made when only building the batches
+        txnBatchWriter = new TxnBatchWriter(null, null, new GlobalProperties());
+    }
+
+    @Benchmark
+    public Map<String, KvDiff.ExistingValue> existingValues() {
+        return KvDiff.ExistingValue.of(existingKeyValues);
+    }
+
+    @Benchmark
+    public List<TxnKVOperation> computeOperations() {
+        return KvDiff.compute(configsToImport.entrySet().stream(), existingValues, new KvDiff.Counters()).toList();
+    }
+
+    @Benchmark
+    public void buildTransactions(final Blackhole blackhole) {
+        final var operations = KvDiff.compute(configsToImport.entrySet().stream(), existingValues, new KvDiff.Counters());
+        final var batches = txnBatchWriter.batches(operations.iterator());
+        while (batches.hasNext()) {
+            final var txnRequest = new TxnRequest();
+            batches.next().forEach(txnRequest::addOperation);
+            blackhole.consume(txnRequest);
+        }
+    }
+}
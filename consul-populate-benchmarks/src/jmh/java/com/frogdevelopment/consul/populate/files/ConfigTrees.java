@@ -0,0 +1,145 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SequencedMap;
+
+/**
+ * Generators of synthetic configurations, so that the benchmarks run against reproducible data.
+ * <p>
+ * A tree has {@code width} keys at each level, nested {@code depth} levels deep, each leaf holding a value of
+ * {@code valueSize} characters: it then has {@code width^depth} leaves.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+public final class ConfigTrees {
+
+    private ConfigTrees() {
+    }
+
+    /**
+     * @param depth     number of nested levels, {@code 1} for a flat map
+     * @param width     number of keys at each level
+     * @param valueSize number of characters of each leaf value
+     * @return a new tree
+     */
+    public static SequencedMap<String, Object> tree(final int depth, final int width, final int valueSize) {
+        return tree(depth, width, valueSize, "value");
+    }
+
+    /**
+     * Copy of the tree overriding only one key out of {@code every} at each level, with different leaf values, as a
+     * target directory overrides the root configurations.
+     *
+     * @param source tree to override
+     * @param every  keep one key out of {@code every}
+     * @return the overriding tree
+     */
+    @SuppressWarnings("unchecked")
+    public static SequencedMap<String, Object> overriding(final Map<String, Object> source, final int every) {
+        final var override = new LinkedHashMap<String, Object>();
+        var i = 0;
+        for (final var entry : source.entrySet()) {
+            if (i++ % every != 0) {
+                continue;
+            }
+            if (entry.getValue() instanceof final Map<?, ?> child) {
+                override.put(entry.getKey(), overriding((Map<String, Object>) child, every));
+            } else {
+                override.put(entry.getKey(), "override-" + entry.getValue());
+            }
+        }
+        return override;
+    }
+
+    /**
+     * @param tree tree to flatten
+     * @return the leaves, with their path joined by dots as key, as in a properties file
+     */
+    public static SequencedMap<String, Object> flatten(final Map<String, Object> tree) {
+        final var flat = new LinkedHashMap<String, Object>();
+        flatten("", tree, flat);
+        return flat;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flatten(final String prefix, final Map<String, Object> tree, final Map<String, Object> flat) {
+        tree.forEach((key, value) -> {
+            if (value instanceof final Map<?, ?> child) {
+                flatten(prefix + key + ".", (Map<String, Object>) child, flat);
+            } else {
+                flat.put(prefix + key, value);
+            }
+        });
+    }
+
+    /**
+     * @param size number of characters
+     * @param seed used to make each value different
+     * @return a value of the given size
+     */
+    public static String value(final int size, final String seed) {
+        final var builder = new StringBuilder(size);
+        while (builder.length() < size) {
+            builder.append(seed).append('-');
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    /**
+     * Write the configuration files of a root directory and its target subdirectory, overriding one file out of two.
+     *
+     * @param importer  used to serialize the files in its own format
+     * @param rootPath  root directory
+     * @param target    name of the target subdirectory
+     * @param extension extension of the files
+     * @param fileCount number of files in the root directory
+     * @param depth     number of nested levels of each file
+     * @param width     number of keys at each level
+     * @param valueSize number of characters of each leaf value
+     * @throws IOException if a file can not be written
+     */
+    public static void writeFiles(final FilesImporter importer,
+                                  final Path rootPath,
+                                  final String target,
+                                  final String extension,
+                                  final int fileCount,
+                                  final int depth,
+                                  final int width,
+                                  final int valueSize) throws IOException {
+        final var targetPath = Files.createDirectories(rootPath.resolve(target));
+        final var flat = importer instanceof PropertiesFilesImporter;
+        for (var i = 0; i < fileCount; i++) {
+            final var fileName = "service-" + i + "." + extension;
+            final var tree = tree(depth, width, valueSize, "service-" + i);
+            write(importer, rootPath.resolve(fileName), flat ? flatten(tree) : tree);
+            if (i % 2 == 0) {
+                final var override = overriding(tree, 4);
+                write(importer, targetPath.resolve(fileName), flat ? flatten(override) : override);
+            }
+        }
+    }
+
+    private static void write(final FilesImporter importer, final Path path, final Map<String, Object> content) throws IOException {
+        Files.writeString(path, importer.writeValueAsString(content), StandardCharsets.UTF_8);
+    }
+
+    private static SequencedMap<String, Object> tree(final int depth, final int width, final int valueSize, final String seed) {
+        final var tree = new LinkedHashMap<String, Object>();
+        for (var i = 0; i < width; i++) {
+            final var key = "key-" + i;
+            if (depth > 1) {
+                tree.put(key, tree(depth - 1, width, valueSize, seed + "." + i));
+            } else {
+                tree.put(key, value(valueSize, seed + "." + i));
+            }
+        }
+        return tree;
+    }
+}
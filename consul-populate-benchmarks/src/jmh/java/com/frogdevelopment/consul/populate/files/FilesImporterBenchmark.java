@@ -0,0 +1,124 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reading and writing configuration files, for each supported format:
+ * <ul>
+ *     <li>{@link #coldImport()}: first import, every file is parsed, merged and serialized</li>
+ *     <li>{@link #warmImport()}: following imports, when no file changed</li>
+ *     <li>{@link #readFile()} and {@link #writeValueAsString()}: parsing and serializing a single file</li>
+ * </ul>
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilesImporterBenchmark {
+
+    private static final String TARGET = "target";
+    private static final int WIDTH = 8;
+
+    @Param({"YAML", "JSON", "PROPERTIES"})
+    private ImportFileProperties.Format format;
+
+    @Param({"10", "100"})
+    private int fileCount;
+
+    @Param({"2", "4"})
+    private int depth;
+
+    @Param({"32", "1024"})
+    private int valueSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path rootPath;
+    private FilesImporter warmImporter;
+    private byte[] fileContent;
+    private SequencedMap<String, Object> tree;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rootPath = Files.createTempDirectory("consul-populate-benchmark");
+        warmImporter = newImporter();
+        ConfigTrees.writeFiles(warmImporter, rootPath, TARGET, extension(), fileCount, depth, WIDTH, valueSize);
+        warmImporter.execute();
+
+        fileContent = Files.readAllBytes(rootPath.resolve("service-0." + extension()));
+        tree = ConfigTrees.tree(depth, WIDTH, valueSize);
+        if (format == ImportFileProperties.Format.PROPERTIES) {
+            tree = ConfigTrees.flatten(tree);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(rootPath.toFile());
+    }
+
+    @Benchmark
+    public Map<String, String> coldImport() {
+        return newImporter().execute();
+    }
+
+    @Benchmark
+    public Map<String, String> warmImport() {
+        return warmImporter.execute();
+    }
+
+    @Benchmark
+    public SequencedMap<String, Object> readFile() throws IOException {
+        return warmImporter.readFile(ByteBuffer.wrap(fileContent));
+    }
+
+    @Benchmark
+    public String writeValueAsString() throws IOException {
+        return warmImporter.writeValueAsString(tree);
+    }
+
+    private FilesImporter newImporter() {
+        final var targetPath = rootPath.resolve(TARGET);
+        return switch (format) {
+            case YAML -> new YamlFilesImporter(rootPath, targetPath);
+            case JSON -> new JsonFilesImporter(rootPath, targetPath, objectMapper);
+            case PROPERTIES -> new PropertiesFilesImporter(rootPath, targetPath);
+        };
+    }
+
+    private String extension() {
+        return switch (format) {
+            case YAML -> "yaml";
+            case JSON -> "json";
+            case PROPERTIES -> "properties";
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Merging the target configurations into the root ones, on trees of about a thousand leaves having different shapes.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapHelperBenchmark {
+
+    private static final int FILE_COUNT = 20;
+
+    /**
+     * Shape of the trees to merge
+     */
+    public enum Shape {
+        DEEP(10, 2),
+        BALANCED(4, 6),
+        WIDE(2, 32);
+
+        private final int depth;
+        private final int width;
+
+        Shape(final int depth, final int width) {
+            this.depth = depth;
+            this.width = width;
+        }
+    }
+
+    @Param({"DEEP", "BALANCED", "WIDE"})
+    private Shape shape;
+
+    /**
+     * One key out of {@code overrideEvery} is overridden at each level
+     */
+    @Param({"1", "4"})
+    private int overrideEvery;
+
+    @Param({"32"})
+    private int valueSize;
+
+    private SequencedMap<String, Object> source;
+    private SequencedMap<String, Object> override;
+    private Map<String, SequencedMap<String, Object>> sourceFiles;
+    private Map<String, SequencedMap<String, Object>> overrideFiles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = ConfigTrees.tree(shape.depth, shape.width, valueSize);
+        override = ConfigTrees.overriding(source, overrideEvery);
+
+        sourceFiles = new LinkedHashMap<>();
+        overrideFiles = new LinkedHashMap<>();
+        for (var i = 0; i < FILE_COUNT; i++) {
+            sourceFiles.put("service-" + i, source);
+            if (i % 2 == 0) {
+                overrideFiles.put("service-" + i, override);
+            }
+        }
+    }
+
+    @Benchmark
+    public SequencedMap<String, Object> mergeMaps() {
+        return MapHelper.mergeMaps(source, override);
+    }
+
+    @Benchmark
+    public Map<String, SequencedMap<String, Object>> merge() {
+        return MapHelper.merge(sourceFiles, overrideFiles);
+    }
+
+    /**
+     * Walks the whole overlay view, as a serializer does, to compare with walking the merged tree
+     */
+    @Benchmark
+    public void overlayMaps(final Blackhole blackhole) {
+        walk(new OverlayMap(source, override), blackhole);
+    }
+
+    @Benchmark
+    public void mergeMapsThenWalk(final Blackhole blackhole) {
+        walk(MapHelper.mergeMaps(source, override), blackhole);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void walk(final Map<String, Object> tree, final Blackhole blackhole) {
+        for (final var entry : tree.entrySet()) {
+            blackhole.consume(entry.getKey());
+            if (entry.getValue() instanceof final Map<?, ?> child) {
+                walk((Map<String, Object>) child, blackhole);
+            } else {
+                blackhole.consume(entry.getValue());
+            }
+        }
+    }
+}
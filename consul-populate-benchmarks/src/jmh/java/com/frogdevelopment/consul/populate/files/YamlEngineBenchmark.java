@@ -0,0 +1,95 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing YAML files with each {@link ImportFileProperties.YamlEngine}, the files being written by
+ * SnakeYAML so that both engines read the same content.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YamlEngineBenchmark {
+
+    private static final String TARGET = "target";
+    private static final int FILE_COUNT = 100;
+    private static final int WIDTH = 8;
+
+    @Param({"SNAKEYAML", "JACKSON"})
+    private ImportFileProperties.YamlEngine yamlEngine;
+
+    @Param({"2", "4"})
+    private int depth;
+
+    @Param({"32", "1024"})
+    private int valueSize;
+
+    private Path rootPath;
+    private YamlFilesImporter importer;
+    private byte[] fileContent;
+    private SequencedMap<String, Object> tree;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rootPath = Files.createTempDirectory("consul-populate-benchmark");
+        ConfigTrees.writeFiles(new YamlFilesImporter(rootPath, rootPath.resolve(TARGET)), rootPath, TARGET, "yaml",
+                FILE_COUNT, depth, WIDTH, valueSize);
+        importer = newImporter();
+
+        fileContent = Files.readAllBytes(rootPath.resolve("service-0.yaml"));
+        tree = ConfigTrees.tree(depth, WIDTH, valueSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(rootPath.toFile());
+    }
+
+    @Benchmark
+    public Map<String, String> coldImport() {
+        return newImporter().execute();
+    }
+
+    @Benchmark
+    public SequencedMap<String, Object> readFile() throws IOException {
+        return importer.readFile(ByteBuffer.wrap(fileContent));
+    }
+
+    @Benchmark
+    public String writeValueAsString() throws IOException {
+        return importer.writeValueAsString(tree);
+    }
+
+    private YamlFilesImporter newImporter() {
+        final var importFileProperties = new ImportFileProperties();
+        importFileProperties.setYamlEngine(yamlEngine);
+        return new YamlFilesImporter(rootPath, rootPath.resolve(TARGET), importFileProperties);
+    }
+}
@@ -37,10 +37,20 @@ public class ConsulPopulateCommand implements Runnable {
     String consulKvVersion;
     @Option(names = {"--consul.files.format"}, defaultValue = "YAML")
     String consulFileFormat;
+    @Option(names = {"--consul.files.yaml-engine"}, defaultValue = "SNAKEYAML")
+    String consulFileYamlEngine;
     @Option(names = {"--consul.files.target"})
     String consulFileTarget;
+    @Option(names = {"--consul.files.targets"}, split = ",")
+    String[] consulFileTargets;
     @Option(names = {"--consul.files.rootPath", "--consul.files.root-path"})
     String consulFileRootPath;
+    @Option(names = {"--consul.files.recursive"}, defaultValue = "false")
+    boolean consulFileRecursive;
+    @Option(names = {"--consul.files.excluded-directories"}, split = ",")
+    String[] consulFileExcludedDirectories;
+    @Option(names = {"--consul.files.mmap-threshold"})
+    Long consulFileMmapThreshold;
 
     public static void main(final String[] args) {
         try {
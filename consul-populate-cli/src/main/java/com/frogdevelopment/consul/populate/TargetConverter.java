@@ -0,0 +1,45 @@
+package com.frogdevelopment.consul.populate;
+
+import java.util.Optional;
+
+import jakarta.inject.Singleton;
+
+import com.frogdevelopment.consul.populate.files.ImportFileProperties;
+
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.TypeConverter;
+import io.micronaut.core.util.StringUtils;
+
+/**
+ * Converts the value of a {@code --consul.files.targets} option, {@code name[:kv-prefix[:kv-version]]}, into an
+ * additional target, the empty parts keeping the default KV prefix or version.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@Singleton
+public class TargetConverter implements TypeConverter<CharSequence, ImportFileProperties.Target> {
+
+    @Override
+    public Optional<ImportFileProperties.Target> convert(final CharSequence object,
+                                                         final Class<ImportFileProperties.Target> targetType,
+                                                         final ConversionContext context) {
+        final var parts = object.toString().split(":", -1);
+        if (parts.length > 3) {
+            context.reject(object, new IllegalArgumentException("Expected name[:kv-prefix[:kv-version]], got: " + object));
+            return Optional.empty();
+        }
+
+        final var target = new ImportFileProperties.Target();
+        target.setName(parts[0].trim());
+        target.setKvPrefix(part(parts, 1));
+        target.setKvVersion(part(parts, 2));
+        return Optional.of(target);
+    }
+
+    private static Optional<String> part(final String[] parts, final int index) {
+        return index < parts.length && StringUtils.isNotEmpty(parts[index].trim())
+                ? Optional.of(parts[index].trim())
+                : Optional.empty();
+    }
+}
@@ -120,6 +120,48 @@ class ConsulPopulateCommandTest {
         assertConsulKVCorrectlyPopulated();
     }
 
+    @Test
+    void should_populateAdditionalTargets() throws Exception {
+        // given
+        var properties = new HashMap<String, String>();
+        properties.put("consul.host", consulHost);
+        properties.put("consul.port", consulPort);
+        properties.put("consul.kv.prefix", "frog");
+        properties.put("consul.kv.version", "1.2.3");
+        properties.put("consul.files.format", "YAML");
+        properties.put("consul.files.target", "prod");
+        properties.put("consul.files.targets", "dev:frog-dev");
+        properties.put("consul.files.root-path", getRootPath());
+
+        var args = properties.entrySet()
+                .stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        // when
+        try {
+            ConsulPopulateCommand.main(args);
+        } catch (Exception e) {
+            // Expected since System.exit() throws SecurityException in test environment
+        }
+
+        // then
+        Thread.sleep(100);
+        try {
+            assertThat(toBlocking(consulClient.getKeys("frog/"))).containsExactly(
+                    "frog/1.2.3/application",
+                    "frog/1.2.3/application,database",
+                    "frog/1.2.3/orders-service");
+            var kvDev = toBlocking(consulClient.getValue("frog-dev/1.2.3/application"));
+            assertThat(kvDev.isPresent()).isTrue();
+            assertThat(kvDev.getValue()).isEqualToIgnoringNewLines("application: dev");
+        } finally {
+            // the container is shared with the other tests
+            toBlocking(consulClient.deleteValues("frog-dev/"));
+            toBlocking(consulClient.deleteValues("frog/"));
+        }
+    }
+
     @Test
     @Disabled("disabled due to limitation of tests run with env variables")
     void should_use_environmentVariables() throws Exception {
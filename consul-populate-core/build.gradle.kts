@@ -18,10 +18,12 @@ dependencies {
     annotationProcessor(mn.micronaut.validation.processor)
 
     implementation(mn.micronaut.jackson.databind)
+    implementation(mn.micronaut.micrometer.core)
     implementation(mn.micronaut.validation)
     implementation(libs.vertx.consul)
     implementation(libs.commons.io)
     implementation(mn.snakeyaml)
+    implementation(libs.jackson.dataformat.yaml)
 
     compileOnly(mn.lombok)
 
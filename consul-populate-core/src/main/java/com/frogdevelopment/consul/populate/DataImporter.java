@@ -1,6 +1,11 @@
 package com.frogdevelopment.consul.populate;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import io.micronaut.core.annotation.NonNull;
 
@@ -20,4 +25,66 @@ public interface DataImporter {
     @NonNull
     Map<String, String> execute();
 
+    /**
+     * Do the import from the data type lazily: the values can be produced as the stream is consumed, so that they do
+     * not all need to be retained at once. Each call does a new import.
+     *
+     * @return key-value to be imported into Consul's KV
+     * @since 1.3.0
+     */
+    @NonNull
+    default Stream<Map.Entry<String, String>> stream() {
+        return execute().entrySet().stream();
+    }
+
+    /**
+     * Do the import from the data type, restricted to the given keys. Keys not found in the data type are absent from
+     * the result, meaning they have been removed.
+     *
+     * @param keys keys to import
+     * @return Map of key-value to be imported into Consul's KV, containing only the given keys
+     * @since 1.3.0
+     */
+    @NonNull
+    default Map<String, String> execute(@NonNull final Set<String> keys) {
+        final var configs = new HashMap<>(execute());
+        configs.keySet().retainAll(keys);
+        return configs;
+    }
+
+    /**
+     * Targets imported all at once, each of them being written to its own KV path. Empty by default, when the data type
+     * only has a single target, written to {@code consul.kv} path.
+     *
+     * @return the targets, the first one being written to {@code consul.kv} path unless it overrides it
+     * @since 1.3.0
+     */
+    @NonNull
+    default List<Target> targets() {
+        return List.of();
+    }
+
+    /**
+     * Do the import of all the {@link #targets() targets} at once, the data they share being imported only once.
+     *
+     * @return per target name, Map of key-value to be imported into the KV path of the target
+     * @throws UnsupportedOperationException if the data type only has a single target
+     * @since 1.3.0
+     */
+    @NonNull
+    default Map<String, Map<String, String>> executeTargets() {
+        throw new UnsupportedOperationException("Only a single target is supported");
+    }
+
+    /**
+     * Target of the import, written to its own KV path
+     *
+     * @param name      name of the target
+     * @param kvPrefix  prefix overriding {@code consul.kv.prefix} for this target
+     * @param kvVersion version overriding {@code consul.kv.version} for this target
+     * @since 1.3.0
+     */
+    record Target(@NonNull String name, @NonNull Optional<String> kvPrefix, @NonNull Optional<String> kvVersion) {
+    }
+
 }
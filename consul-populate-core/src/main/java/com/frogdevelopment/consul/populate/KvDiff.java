@@ -0,0 +1,211 @@
+package com.frogdevelopment.consul.populate;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.KeyValueList;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnKVVerb;
+
+/**
+ * Helper computing the operations needed to go from the current content of Consul's KV to the imported one
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class KvDiff {
+
+    /**
+     * Compare the configurations to import with the existing ones and keep only the needed operations.
+     * Each operation is conditioned by the {@code ModifyIndex} read, so that a concurrent modification makes the
+     * transaction fail instead of being silently overridden:
+     * <ul>
+     *     <li>{@link TxnKVVerb#CAS} with index {@code 0} for new keys (only set if the key still does not exist)</li>
+     *     <li>{@link TxnKVVerb#CAS} with the current index for keys whose value changed</li>
+     *     <li>{@link TxnKVVerb#DELETE_CAS} with the current index for existing keys not present anymore in the import</li>
+     * </ul>
+     *
+     * @param configsToImport configurations to import, with full KV path as key
+     * @param existing        current content of Consul's KV under the same path
+     * @return the changes to apply
+     */
+    @NonNull
+    static Changes compute(@NonNull final Map<String, String> configsToImport, @Nullable final KeyValueList existing) {
+        return compute(configsToImport, existing == null ? null : existing.getList());
+    }
+
+    /**
+     * @param configsToImport configurations to import, with full KV path as key
+     * @param existing        current values of the keys in Consul's KV
+     * @return the changes to apply
+     * @see #compute(Map, KeyValueList)
+     */
+    @NonNull
+    static Changes compute(@NonNull final Map<String, String> configsToImport, @Nullable final List<KeyValue> existing) {
+        final var existingValues = toMap(existing);
+
+        final var operations = new ArrayList<TxnKVOperation>();
+        var created = 0;
+        var updated = 0;
+        var unchanged = 0;
+        for (final var entry : configsToImport.entrySet()) {
+            final var current = existingValues.get(entry.getKey());
+            final long index;
+            if (current == null) {
+                created++;
+                index = 0;
+            } else if (Objects.equals(current.getValue(), entry.getValue())) {
+                unchanged++;
+                continue;
+            } else {
+                updated++;
+                index = current.getModifyIndex();
+            }
+            operations.add(new TxnKVOperation()
+                    .setKey(entry.getKey())
+                    .setValue(entry.getValue())
+                    .setIndex(index)
+                    .setType(TxnKVVerb.CAS));
+        }
+
+        var deleted = 0;
+        for (final var current : existingValues.values()) {
+            if (!configsToImport.containsKey(current.getKey())) {
+                deleted++;
+                operations.add(new TxnKVOperation()
+                        .setKey(current.getKey())
+                        .setIndex(current.getModifyIndex())
+                        .setType(TxnKVVerb.DELETE_CAS));
+            }
+        }
+
+        return new Changes(operations, created, updated, deleted, unchanged);
+    }
+
+    /**
+     * Same as {@link #compute(Map, List)}, but lazily: the configurations to import are consumed as the returned
+     * operations are, without being retained. The deletions come last, once all the configurations have been consumed.
+     *
+     * @param configsToImport configurations to import, with full KV path as key
+     * @param existing        index and hash of the current values in Consul's KV, by key
+     * @param counters        updated as the operations are consumed
+     * @return the operations to apply
+     */
+    @NonNull
+    static Stream<TxnKVOperation> compute(@NonNull final Stream<Map.Entry<String, String>> configsToImport,
+                                          @NonNull final Map<String, ExistingValue> existing,
+                                          @NonNull final Counters counters) {
+        final var importedKeys = new HashSet<String>();
+        final var upserts = configsToImport
+                .map(entry -> {
+                    importedKeys.add(entry.getKey());
+                    final var current = existing.get(entry.getKey());
+                    final long index;
+                    if (current == null) {
+                        counters.created++;
+                        index = 0;
+                    } else if (current.hash().equals(PopulateManifest.hash(entry.getValue()))) {
+                        counters.unchanged++;
+                        return null;
+                    } else {
+                        counters.updated++;
+                        index = current.modifyIndex();
+                    }
+                    return new TxnKVOperation()
+                            .setKey(entry.getKey())
+                            .setValue(entry.getValue())
+                            .setIndex(index)
+                            .setType(TxnKVVerb.CAS);
+                })
+                .filter(Objects::nonNull);
+
+        // the supplier is only called once all the upserts are consumed, so that all the imported keys are known
+        final Supplier<Stream<TxnKVOperation>> deletes = () -> existing.entrySet()
+                .stream()
+                .filter(entry -> !importedKeys.contains(entry.getKey()))
+                .map(entry -> {
+                    counters.deleted++;
+                    return new TxnKVOperation()
+                            .setKey(entry.getKey())
+                            .setIndex(entry.getValue().modifyIndex())
+                            .setType(TxnKVVerb.DELETE_CAS);
+                });
+
+        return Stream.concat(upserts, Stream.of(deletes).flatMap(Supplier::get));
+    }
+
+    private static Map<String, KeyValue> toMap(@Nullable final List<KeyValue> keyValues) {
+        final var map = new HashMap<String, KeyValue>();
+        if (keyValues != null) {
+            keyValues.forEach(keyValue -> map.put(keyValue.getKey(), keyValue));
+        }
+        return map;
+    }
+
+    /**
+     * Changes to apply into Consul's KV
+     *
+     * @param operations operations to send
+     * @param created    number of new keys
+     * @param updated    number of keys whose value changed
+     * @param deleted    number of keys to delete
+     * @param unchanged  number of keys already up-to-date
+     */
+    record Changes(@NonNull List<TxnKVOperation> operations, int created, int updated, int deleted, int unchanged) {
+
+        /**
+         * @return {@code true} if nothing has to be written
+         */
+        boolean isEmpty() {
+            return operations.isEmpty();
+        }
+    }
+
+    /**
+     * Current state of a key in Consul's KV, without retaining its value
+     *
+     * @param modifyIndex {@code ModifyIndex} of the key
+     * @param hash        hash of the value, see {@link PopulateManifest#hash(String)}
+     */
+    record ExistingValue(long modifyIndex, @NonNull String hash) {
+
+        /**
+         * @param keyValues current values in Consul's KV
+         * @return index and hash of each value, by key
+         */
+        @NonNull
+        static Map<String, ExistingValue> of(@Nullable final List<KeyValue> keyValues) {
+            final var map = new HashMap<String, ExistingValue>();
+            if (keyValues != null) {
+                keyValues.forEach(keyValue -> map.put(keyValue.getKey(),
+                        new ExistingValue(keyValue.getModifyIndex(), PopulateManifest.hash(Objects.toString(keyValue.getValue(), "")))));
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Number of keys by kind of change, updated as the operations computed lazily are consumed
+     */
+    @Getter
+    static final class Counters {
+        private int created;
+        private int updated;
+        private int deleted;
+        private int unchanged;
+    }
+}
@@ -0,0 +1,103 @@
+package com.frogdevelopment.consul.populate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Manifest stored in Consul's KV alongside the populated configurations, describing the content of the last successful
+ * populate: a hash per key and a global hash of the whole import, so that an unchanged import can be detected by
+ * reading a single key.
+ * <p>
+ * The manifest is a single value holding a hash per key: it is not stored when bigger than {@link #MAX_SIZE}, roughly
+ * above 5,000 keys.
+ *
+ * @param hash global hash, computed from the sorted keys and their hashes
+ * @param keys hash of the value of each key, relative to the KV path
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+record PopulateManifest(@NonNull String hash, @NonNull Map<String, String> keys) {
+
+    /**
+     * Name of the manifest key, relative to the KV path
+     */
+    static final String KEY = ".populate-manifest";
+
+    /**
+     * Maximum size (in bytes) of the manifest, the default maximum size of a value in Consul's KV
+     */
+    static final int MAX_SIZE = 512 * 1024;
+
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * @param configs imported configurations, with key relative to the KV path
+     * @return the manifest describing the configurations
+     */
+    @NonNull
+    static PopulateManifest of(@NonNull final Map<String, String> configs) {
+        final var keys = new TreeMap<String, String>();
+        configs.forEach((key, value) -> keys.put(key, hash(value)));
+        return of(keys);
+    }
+
+    /**
+     * @param keys hash of each key, relative to the KV path
+     * @return the manifest with the global hash computed from the given keys
+     */
+    @NonNull
+    static PopulateManifest of(@NonNull final TreeMap<String, String> keys) {
+        final var digest = newDigest();
+        keys.forEach((key, hash) -> {
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(hash.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        });
+        return new PopulateManifest(HexFormat.of().formatHex(digest.digest()), keys);
+    }
+
+    /**
+     * @param configs imported configurations of the given keys, with key relative to the KV path
+     * @param keys    keys that have been imported, a key absent from the configurations being removed
+     * @return a new manifest, where only the given keys are updated
+     */
+    @NonNull
+    PopulateManifest update(@NonNull final Map<String, String> configs, @NonNull final Set<String> keys) {
+        final var updated = new TreeMap<>(this.keys);
+        for (final var key : keys) {
+            final var value = configs.get(key);
+            if (value == null) {
+                updated.remove(key);
+            } else {
+                updated.put(key, hash(value));
+            }
+        }
+        return of(updated);
+    }
+
+    /**
+     * @param value value to hash
+     * @return the hexadecimal SHA-256 of the value
+     */
+    @NonNull
+    static String hash(@NonNull final String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.frogdevelopment.consul.populate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Micrometer instrumentation of the populate, exposed through the Micronaut {@code metrics} and {@code prometheus}
+ * management endpoints when available:
+ * <ul>
+ *     <li>{@value #POPULATE}: duration of a populate, tagged by {@code type} ({@code full} or {@code keys}) and {@code outcome}</li>
+ *     <li>{@value #PHASE}: duration of each {@link Phase}, tagged by {@code phase}</li>
+ *     <li>{@value #KEYS}: number of keys, tagged by {@link KeyOperation operation}</li>
+ *     <li>{@value #PAYLOAD}: estimated payload of the transactions sent by the last populate</li>
+ *     <li>{@value #GIT_PULL}: duration of a git pull, tagged by {@code trigger} and {@code status}</li>
+ * </ul>
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@Singleton
+public class PopulateMetrics {
+
+    static final String POPULATE = "consul.populate";
+    static final String PHASE = "consul.populate.phase";
+    static final String KEYS = "consul.populate.keys";
+    static final String PAYLOAD = "consul.populate.txn.payload";
+    static final String GIT_PULL = "consul.populate.git.pull";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<KeyOperation, Counter> keyCounters = new EnumMap<>(KeyOperation.class);
+    private final AtomicLong payloadBytes = new AtomicLong();
+
+    /**
+     * Constructor used by injection, falling back to the global registry when no registry is configured
+     *
+     * @param meterRegistry registry in which the meters are registered
+     */
+    @Inject
+    PopulateMetrics(final Optional<MeterRegistry> meterRegistry) {
+        this(meterRegistry.orElse(Metrics.globalRegistry));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param meterRegistry registry in which the meters are registered
+     */
+    public PopulateMetrics(@NonNull final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (final var phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder(PHASE)
+                    .description("Duration of a phase of the populate")
+                    .tag("phase", phase.tagValue())
+                    .register(meterRegistry));
+        }
+        for (final var operation : KeyOperation.values()) {
+            keyCounters.put(operation, Counter.builder(KEYS)
+                    .description("Number of keys processed by the populate")
+                    .tag("operation", operation.tagValue())
+                    .register(meterRegistry));
+        }
+        Gauge.builder(PAYLOAD, payloadBytes, AtomicLong::get)
+                .description("Estimated payload of the transactions sent by the last populate")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param phase    phase to time
+     * @param supplier code of the phase
+     * @param <T>      type of the result
+     * @return the result of the supplier
+     */
+    public <T> T time(@NonNull final Phase phase, @NonNull final Supplier<T> supplier) {
+        return phaseTimers.get(phase).record(supplier);
+    }
+
+    /**
+     * @return the current time, to be given to {@link #stop(Phase, long)} at the end of the phase
+     */
+    public long start() {
+        return meterRegistry.config().clock().monotonicTime();
+    }
+
+    /**
+     * @param phase phase to time
+     * @param start time returned by {@link #start()}
+     */
+    public void stop(@NonNull final Phase phase, final long start) {
+        phaseTimers.get(phase).record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param operation kind of operation
+     * @param count     number of keys
+     */
+    public void count(@NonNull final KeyOperation operation, final long count) {
+        if (count > 0) {
+            keyCounters.get(operation).increment(count);
+        }
+    }
+
+    /**
+     * @param bytes estimated payload of the transactions sent by the populate
+     */
+    public void payload(final long bytes) {
+        payloadBytes.set(bytes);
+    }
+
+    /**
+     * @param type     {@code full} or {@code keys}
+     * @param outcome  {@code success}, {@code failure} or {@code error}
+     * @param duration duration of the populate
+     */
+    public void populated(@NonNull final String type, @NonNull final String outcome, @NonNull final Duration duration) {
+        Timer.builder(POPULATE)
+                .description("Duration of a populate")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * @param trigger  source of the pull
+     * @param status   outcome of the pull
+     * @param duration duration of the pull
+     */
+    public void pulled(@NonNull final String trigger, @NonNull final String status, @NonNull final Duration duration) {
+        Timer.builder(GIT_PULL)
+                .description("Duration of a git pull")
+                .tag("trigger", trigger.toLowerCase(Locale.ROOT))
+                .tag("status", status.toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * Phases of the populate
+     */
+    public enum Phase {
+        /**
+         * Retrieving the configurations to import
+         */
+        IMPORT,
+        /**
+         * Reading and parsing the configuration files
+         */
+        PARSE,
+        /**
+         * Serializing the configurations, the files importers merging the target ones into the root ones while
+         * serializing them
+         */
+        SERIALIZE,
+        /**
+         * Reading the current content of Consul's KV
+         */
+        READ,
+        /**
+         * Sending the transactions, including the retries. When the configurations are streamed, it includes the
+         * merge and serialization done while the operations are consumed.
+         */
+        TXN;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Kind of operation done on a key
+     */
+    public enum KeyOperation {
+        /**
+         * Key created or updated
+         */
+        SET,
+        /**
+         * Key deleted
+         */
+        DELETED,
+        /**
+         * Key already up-to-date
+         */
+        UNCHANGED,
+        /**
+         * Key whose transaction failed
+         */
+        ERRORED;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.frogdevelopment.consul.populate;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import io.micronaut.core.annotation.NonNull;
+
 /**
  * Entry point to run the data import
  *
@@ -10,6 +16,43 @@ public interface PopulateService {
 
     /**
      * Main method that is going to do the defined import into Consul's KV
+     *
+     * @throws IllegalStateException if Consul is not ready, or if some transactions still failed after their retries
      */
     void populate();
+
+    /**
+     * Import only the given keys into Consul's KV: each key is created, updated or deleted depending on its presence in
+     * the data type, other keys are left untouched.
+     *
+     * @param keys keys to import, relative to the KV path
+     * @throws IllegalStateException if Consul is not ready, or if some transactions still failed after their retries
+     * @since 1.3.0
+     */
+    void populate(@NonNull Set<String> keys);
+
+    /**
+     * Asynchronous variant of {@link #populate()}, not blocking the calling thread while waiting for Consul.
+     * The default implementation runs the blocking variant on the common pool.
+     *
+     * @return stage completed once the import is done, or exceptionally if it could not be done
+     * @since 1.3.0
+     */
+    @NonNull
+    default CompletionStage<Void> populateAsync() {
+        return CompletableFuture.runAsync(this::populate);
+    }
+
+    /**
+     * Asynchronous variant of {@link #populate(Set)}, not blocking the calling thread while waiting for Consul.
+     * The default implementation runs the blocking variant on the common pool.
+     *
+     * @param keys keys to import, relative to the KV path
+     * @return stage completed once the import is done, or exceptionally if it could not be done
+     * @since 1.3.0
+     */
+    @NonNull
+    default CompletionStage<Void> populateAsync(@NonNull final Set<String> keys) {
+        return CompletableFuture.runAsync(() -> populate(keys));
+    }
 }
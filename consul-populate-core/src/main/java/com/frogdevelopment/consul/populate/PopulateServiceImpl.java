@@ -1,25 +1,46 @@
 package com.frogdevelopment.consul.populate;
 
-import static com.frogdevelopment.consul.populate.VertxUtils.toBlocking;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import jakarta.inject.Singleton;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frogdevelopment.consul.populate.PopulateMetrics.KeyOperation;
+import com.frogdevelopment.consul.populate.PopulateMetrics.Phase;
 import com.frogdevelopment.consul.populate.config.GlobalProperties;
 
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.ext.consul.ConsulClient;
-import io.vertx.ext.consul.TxnError;
+import io.vertx.ext.consul.KeyValue;
 import io.vertx.ext.consul.TxnKVOperation;
 import io.vertx.ext.consul.TxnKVVerb;
-import io.vertx.ext.consul.TxnRequest;
 
 /**
+ * The populate is composed of Vert.x {@link Future}s, without blocking any thread while waiting for Consul: the import
+ * of the configurations runs on a worker thread, and the operations computed lazily are consumed by the threads
+ * completing the transactions. The blocking methods wait for their asynchronous counterpart.
+ *
  * @author Le Gall Benoît
  * @since 1.0.0
  */
@@ -29,67 +50,544 @@ import io.vertx.ext.consul.TxnRequest;
 class PopulateServiceImpl implements PopulateService {
 
     private final ConsulClient consulClient;
+    private final Vertx vertx;
     private final GlobalProperties globalProperties;
     private final DataImporter dataImporter;
+    private final TxnBatchWriter txnBatchWriter;
+    private final ObjectMapper objectMapper;
+    private final PopulateMetrics populateMetrics;
 
     @Override
     public void populate() {
+        await(populateAsync());
+    }
+
+    @Override
+    public void populate(@NonNull final Set<String> keys) {
+        await(populateAsync(keys));
+    }
+
+    @NonNull
+    @Override
+    public CompletionStage<Void> populateAsync() {
+        return timed("full", this::populateAll).toCompletionStage();
+    }
+
+    @NonNull
+    @Override
+    public CompletionStage<Void> populateAsync(@NonNull final Set<String> keys) {
+        if (keys.isEmpty()) {
+            log.info("No key to export");
+            return Future.<Void>succeededFuture().toCompletionStage();
+        }
+        if (!dataImporter.targets().isEmpty()) {
+            // the keys are relative to each target, all of them being written again
+            log.info("Several targets are imported, exporting all the keys");
+            return timed("full", this::populateAll).toCompletionStage();
+        }
+
+        return timed("keys", () -> populateKeys(keys)).toCompletionStage();
+    }
+
+    private static void await(final CompletionStage<Void> populate) {
         try {
-            toBlocking(consulClient.leaderStatus());
-        } catch (final Exception e) {
-            throw new IllegalStateException("Consul is not reachable/ready to be populate. Please check error logs", e);
+            populate.toCompletableFuture().join();
+        } catch (final CompletionException e) {
+            // keep the same exceptions as when running synchronously
+            if (e.getCause() instanceof final RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        final var kvPath = globalProperties.getKv().getPath();
+    private Future<Void> timed(final String type, final Supplier<Future<Boolean>> populate) {
+        final var start = System.nanoTime();
+        return call(populate)
+                .andThen(asyncResult -> {
+                    final String outcome;
+                    if (asyncResult.failed()) {
+                        outcome = "error";
+                    } else {
+                        outcome = Boolean.TRUE.equals(asyncResult.result()) ? "success" : "failure";
+                    }
+                    populateMetrics.populated(type, outcome, Duration.ofNanos(System.nanoTime() - start));
+                })
+                .compose(populated -> {
+                    if (Boolean.TRUE.equals(populated)) {
+                        return Future.succeededFuture();
+                    }
+                    // the caller must know that Consul was only partially populated, to populate it again
+                    return Future.failedFuture(new IllegalStateException("Some keys could not be populated. Please check error logs"));
+                });
+    }
+
+    private <T> Future<T> timed(final Phase phase, final Supplier<Future<T>> supplier) {
+        final var start = populateMetrics.start();
+        return call(supplier).andThen(asyncResult -> populateMetrics.stop(phase, start));
+    }
+
+    /**
+     * @return the future of the supplier, or a failed one if the supplier threw
+     */
+    private static <T> Future<T> call(final Supplier<Future<T>> supplier) {
+        try {
+            return supplier.get();
+        } catch (final RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * Run blocking code, like reading the files to import, on a worker thread
+     */
+    private <T> Future<T> blocking(final Supplier<T> supplier) {
+        return vertx.executeBlocking(supplier::get, false);
+    }
+
+    /**
+     * The import does not need Consul: it starts right away, while Consul is checked and read.
+     *
+     * @return {@code false} if some transactions failed
+     */
+    private Future<Boolean> populateAll() {
+        final var targets = dataImporter.targets();
+        if (!targets.isEmpty()) {
+            return populateTargets(targets);
+        }
+
+        final var kv = globalProperties.getKv();
+        final var kvPath = kv.getPath();
+        final var manifestKey = kvPath + PopulateManifest.KEY;
 
         log.info("Retrieving data to export");
-        // Importing data from configured type
-        final var configsToImport = dataImporter.execute()
-                .entrySet()
+        final var ready = checkConsulIsReady();
+        if (!kv.isManifestEnabled()) {
+            return writeAll(kvPath, manifestKey, null,
+                    ready.compose(ignored -> readExistingValues(kvPath, null)),
+                    blocking(dataImporter::stream),
+                    reimport(kvPath));
+        }
+
+        // imported once, and retained, so that the manifest describes exactly what is written
+        final var importedConfigs = blocking(() -> populateMetrics.time(Phase.IMPORT, dataImporter::execute));
+        return populateWithManifest(kvPath, ready, importedConfigs);
+    }
+
+    /**
+     * All the targets are imported at once, while Consul is checked and read, then each target is written to its own
+     * KV path concurrently.
+     *
+     * @return {@code false} if some transactions failed, for any target
+     */
+    private Future<Boolean> populateTargets(final List<DataImporter.Target> targets) {
+        log.info("Retrieving data to export for {} targets", targets.size());
+        final var ready = checkConsulIsReady();
+        final var kvPaths = kvPaths(targets);
+        final var importedConfigs = blocking(() -> populateMetrics.time(Phase.IMPORT, dataImporter::executeTargets));
+
+        final var populated = kvPaths.entrySet()
+                .stream()
+                .map(entry -> populateTarget(entry.getValue(), ready, importedConfigs.map(configs -> configs.get(entry.getKey()))))
+                .toList();
+        return Future.join(populated)
+                .map(ignored -> populated.stream().allMatch(future -> Boolean.TRUE.equals(future.result())));
+    }
+
+    /**
+     * Same as {@link #populateAll()}, for the already imported configurations of a target
+     *
+     * @return {@code false} if some transactions failed
+     */
+    private Future<Boolean> populateTarget(final String kvPath,
+                                           final Future<Void> ready,
+                                           final Future<Map<String, String>> importedConfigs) {
+        if (!globalProperties.getKv().isManifestEnabled()) {
+            final var manifestKey = kvPath + PopulateManifest.KEY;
+            return writeAll(kvPath, manifestKey, null,
+                    ready.compose(ignored -> readExistingValues(kvPath, null)),
+                    importedConfigs.map(configs -> configs.entrySet().stream()),
+                    retained(kvPath, importedConfigs));
+        }
+
+        return populateWithManifest(kvPath, ready, importedConfigs);
+    }
+
+    /**
+     * Compare the imported configurations with the manifest of the last populate, to skip everything when nothing
+     * changed, then write them along with their manifest
+     *
+     * @return {@code false} if some transactions failed
+     */
+    private Future<Boolean> populateWithManifest(final String kvPath,
+                                                 final Future<Void> ready,
+                                                 final Future<Map<String, String>> importedConfigs) {
+        final var manifestKey = kvPath + PopulateManifest.KEY;
+        final var manifest = importedConfigs.compose(configs -> blocking(() -> PopulateManifest.of(configs)));
+        final var stored = ready.compose(ignored -> readManifest(manifestKey));
+        // when prefetched, the current content is read even if the manifest turns out to be unchanged, otherwise only
+        // when no manifest is stored, the content being then sure to change
+        final var prefetch = globalProperties.getKv().isPrefetch();
+        final Future<Map<String, KvDiff.ExistingValue>> prefetched = prefetch
+                ? ready.compose(ignored -> readExistingValues(kvPath, manifestKey))
+                : stored.compose(value -> value.isEmpty()
+                        ? readExistingValues(kvPath, manifestKey)
+                        : Future.<Map<String, KvDiff.ExistingValue>>succeededFuture());
+
+        return Future.all(manifest, stored)
+                .compose(ignored -> {
+                    if (stored.result().filter(value -> value.hash().equals(manifest.result().hash())).isPresent()) {
+                        log.info("Consul is already up-to-date for {} (manifest unchanged), nothing to export", kvPath);
+                        return Future.succeededFuture(true);
+                    }
+                    final var existingValues = prefetch || stored.result().isEmpty()
+                            ? prefetched
+                            : readExistingValues(kvPath, manifestKey);
+                    return writeAll(kvPath, manifestKey, manifest.result(), existingValues,
+                            importedConfigs.map(configs -> configs.entrySet().stream()),
+                            retained(kvPath, importedConfigs));
+                });
+    }
+
+    /**
+     * @return the given keys of the configurations already imported, with the KV path, used to retry conflicted keys
+     */
+    private static Function<Set<String>, Future<Map<String, String>>> retained(final String kvPath,
+                                                                              final Future<Map<String, String>> importedConfigs) {
+        return keys -> importedConfigs.map(configs -> filterKeys(withKvPath(kvPath, configs), keys));
+    }
+
+    /**
+     * @return KV path of each target, by target name
+     * @throws IllegalStateException if a KV path is nested in another one: the existing keys of a target would include
+     *                               those of the other, and be deleted
+     */
+    private Map<String, String> kvPaths(final List<DataImporter.Target> targets) {
+        final var kv = globalProperties.getKv();
+        final var kvPaths = new LinkedHashMap<String, String>();
+        for (final var target : targets) {
+            kvPaths.put(target.name(), kv.getPath(target.kvPrefix(), target.kvVersion()));
+        }
+        final var paths = List.copyOf(kvPaths.values());
+        for (var i = 0; i < paths.size(); i++) {
+            for (var j = 0; j < paths.size(); j++) {
+                if (i != j && paths.get(i).startsWith(paths.get(j))) {
+                    throw new IllegalStateException("Each target must be written to its own KV path, not nested in another one: " + kvPaths);
+                }
+            }
+        }
+        return kvPaths;
+    }
+
+    /**
+     * @return import again the given keys, with the KV path
+     */
+    private Function<Set<String>, Future<Map<String, String>>> reimport(final String kvPath) {
+        return keys -> blocking(() -> withKvPath(kvPath, dataImporter.execute(withoutKvPath(kvPath, keys))));
+    }
+
+    /**
+     * @param manifestKey key of the manifest, left out of the existing configs, or {@code null} when the manifest is
+     *                    disabled: a manifest left by a previous populate is then deleted like any key not imported, as
+     *                    it would wrongly skip a populate once enabled again
+     * @return current configs in Consul KV, keeping only their index and hash
+     */
+    private Future<Map<String, KvDiff.ExistingValue>> readExistingValues(final String kvPath,
+                                                                         @Nullable final String manifestKey) {
+        return timed(Phase.READ, () -> consulClient.getValues(kvPath))
+                .map(keyValues -> KvDiff.ExistingValue.of(Optional.ofNullable(keyValues.getList())
+                        .orElseGet(List::of)
+                        .stream()
+                        .filter(keyValue -> !keyValue.getKey().equals(manifestKey))
+                        .toList()));
+    }
+
+    /**
+     * Join the read of the current content of the KV and the import, both running concurrently, before writing
+     */
+    private Future<Boolean> writeAll(final String kvPath,
+                                     final String manifestKey,
+                                     @Nullable final PopulateManifest manifest,
+                                     final Future<Map<String, KvDiff.ExistingValue>> existingValues,
+                                     final Future<Stream<Map.Entry<String, String>>> importedConfigs,
+                                     final Function<Set<String>, Future<Map<String, String>>> configsToRetry) {
+        return Future.all(existingValues, importedConfigs)
+                .recover(e -> {
+                    // the import may complete after the failure
+                    importedConfigs.onSuccess(Stream::close);
+                    return Future.failedFuture(e);
+                })
+                .compose(ignored -> writeAll(kvPath, manifestKey, manifest, existingValues.result(), importedConfigs.result(),
+                        configsToRetry));
+    }
+
+    private Future<Boolean> writeAll(final String kvPath,
+                                     final String manifestKey,
+                                     @Nullable final PopulateManifest manifest,
+                                     final Map<String, KvDiff.ExistingValue> existingConfigs,
+                                     final Stream<Map.Entry<String, String>> importedConfigs,
+                                     final Function<Set<String>, Future<Map<String, String>>> configsToRetry) {
+        final var counters = new KvDiff.Counters();
+        return blocking(() -> {
+            // Importing data from configured type, consumed as the transactions are sent
+            final var operations = KvDiff.compute(
+                    importedConfigs.map(entry -> Map.entry(kvPath + entry.getKey(), entry.getValue())),
+                    existingConfigs,
+                    counters).iterator();
+            // the first operation is produced here, merging and serializing the configurations until one changed (all
+            // of them when none did), instead of on the event loop; the next ones are produced by the batch writer
+            operations.hasNext();
+            return operations;
+        }).compose(operations -> {
+            // conflicted keys are imported again on retry
+            return apply(kvPath, operations, configsToRetry, manifestKey, manifest);
+        }).andThen(asyncResult -> {
+            importedConfigs.close();
+            log.info("Changes computed: created={}, updated={}, deleted={}, unchanged={}",
+                    counters.getCreated(), counters.getUpdated(), counters.getDeleted(), counters.getUnchanged());
+            populateMetrics.count(KeyOperation.UNCHANGED, counters.getUnchanged());
+        });
+    }
+
+    /**
+     * The import of the given keys, the read of their current values and of the manifest run concurrently.
+     *
+     * @return {@code false} if some transactions failed
+     */
+    private Future<Boolean> populateKeys(final Set<String> keys) {
+        final var kvPath = globalProperties.getKv().getPath();
+        final var manifestKey = kvPath + PopulateManifest.KEY;
+
+        log.info("Retrieving data to export for {} keys", keys.size());
+        final var ready = checkConsulIsReady();
+        final var importedConfigs = blocking(() -> populateMetrics.time(Phase.IMPORT, () -> dataImporter.execute(keys)));
+
+        // retrieve current values of the given keys only
+        final var existingConfigs = ready.compose(ignored -> timed(Phase.READ, () -> readValues(kvPath, keys.stream()
+                .map(key -> kvPath + key)
+                .collect(Collectors.toSet()))));
+
+        final Future<Optional<PopulateManifest>> stored = globalProperties.getKv().isManifestEnabled()
+                ? ready.compose(ignored -> readManifest(manifestKey))
+                : Future.succeededFuture(Optional.empty());
+
+        return Future.all(importedConfigs, existingConfigs, stored)
+                .compose(ignored -> {
+                    final var configsToImport = withKvPath(kvPath, importedConfigs.result());
+                    // the manifest can only be updated if it already describes the other keys
+                    final var manifest = stored.result()
+                            .map(value -> value.update(importedConfigs.result(), keys))
+                            .orElse(null);
+
+                    // keep only the Create/Update/Delete operations needed
+                    final var changes = KvDiff.compute(configsToImport, existingConfigs.result());
+                    log.info("Changes computed: created={}, updated={}, deleted={}, unchanged={}",
+                            changes.created(), changes.updated(), changes.deleted(), changes.unchanged());
+                    populateMetrics.count(KeyOperation.UNCHANGED, changes.unchanged());
+
+                    return apply(kvPath,
+                            changes.operations().iterator(),
+                            conflictedKeys -> Future.succeededFuture(filterKeys(configsToImport, conflictedKeys)),
+                            manifestKey,
+                            manifest);
+                });
+    }
+
+    private Future<Void> checkConsulIsReady() {
+        return consulClient.leaderStatus()
+                .<Void>mapEmpty()
+                .recover(e -> Future.failedFuture(new IllegalStateException("Consul is not reachable/ready to be populate. Please check error logs", e)));
+    }
+
+    private static Map<String, String> withKvPath(final String kvPath, final Map<String, String> configs) {
+        return configs.entrySet()
                 .stream()
                 .collect(Collectors.toMap(entry -> kvPath + entry.getKey(), Map.Entry::getValue));
+    }
 
-        // Create/Update/Delete config
-        final var txnRequest = new TxnRequest();
-        configsToImport.entrySet()
+    private static Set<String> withoutKvPath(final String kvPath, final Set<String> keys) {
+        return keys.stream()
+                .map(key -> key.substring(kvPath.length()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<String, String> filterKeys(final Map<String, String> configs, final Set<String> keys) {
+        return configs.entrySet()
                 .stream()
-                .map(toSetOperation())
-                .forEach(txnRequest::addOperation);
-
-        // retrieve current configs in Consul KV
-        final var existingKeysInConsul = toBlocking(consulClient.getKeys(kvPath));
-
-        // keep only those that are to be deleted (no present anymore in the data pushed)
-        existingKeysInConsul.stream()
-                .filter(Predicate.not(configsToImport::containsKey))
-                .map(toDeleteOperation())
-                .forEach(txnRequest::addOperation);
-
-        log.info("Exporting data to consul");
-        final var result = toBlocking(consulClient.transaction(txnRequest));
-        log.info("succeeded results size: {}", result.getResultsSize());
-        if (result.getErrorsSize() > 0) {
-            log.error("Some operations ({}) lead to error:{}",
-                    result.getErrorsSize(),
-                    result.getErrors()
-                            .stream()
-                            .map(TxnError::getWhat)
-                            .collect(Collectors.joining("\n\t- "))
-            );
+                .filter(entry -> keys.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * Write the operations needed to go from the existing configurations to the ones to import, then the manifest if
+     * everything succeeded.
+     *
+     * @param operations      operations to write, possibly computed lazily
+     * @param configsToImport provides the configurations to import for the given keys, used to retry conflicted keys
+     * @return {@code false} if some transactions failed
+     */
+    private Future<Boolean> apply(final String kvPath,
+                                  final Iterator<TxnKVOperation> operations,
+                                  final Function<Set<String>, Future<Map<String, String>>> configsToImport,
+                                  final String manifestKey,
+                                  @Nullable final PopulateManifest manifest) {
+        if (!operations.hasNext()) {
+            log.info("Consul is already up-to-date, nothing to export");
+            populateMetrics.payload(0);
+            return writeManifest(manifestKey, manifest).map(true);
+        }
+
+        // invalidate the manifest, as it will not describe the content anymore if some transactions fail
+        final Future<Void> invalidated = manifest == null
+                ? Future.succeededFuture()
+                : consulClient.deleteValue(manifestKey);
+        return invalidated
+                .compose(ignored -> {
+                    log.info("Exporting data to consul");
+                    return timed(Phase.TXN, () -> write(kvPath, operations, configsToImport));
+                })
+                .compose(results -> {
+                    record(results);
+                    final var succeeded = results.stream()
+                            .filter(TxnBatchWriter.BatchResult::isSuccess)
+                            .mapToInt(result -> result.operations().size())
+                            .sum();
+                    log.info("succeeded results size: {}", succeeded);
+                    final var failed = results.stream()
+                            .filter(Predicate.not(TxnBatchWriter.BatchResult::isSuccess))
+                            .count();
+                    if (failed > 0) {
+                        log.error("Some transactions ({}/{}) lead to error. Please check error logs", failed, results.size());
+                        return Future.succeededFuture(false);
+                    }
+                    return writeManifest(manifestKey, manifest).map(true);
+                });
+    }
+
+    /**
+     * Count the keys written by the transactions, and their estimated payload
+     */
+    private void record(final List<TxnBatchWriter.BatchResult> results) {
+        var set = 0L;
+        var deleted = 0L;
+        var errored = 0L;
+        var payload = 0L;
+        for (final var result : results) {
+            for (final var operation : result.operations()) {
+                payload += TxnBatchWriter.estimateSize(operation);
+                if (!result.isSuccess()) {
+                    errored++;
+                } else if (operation.getType() == TxnKVVerb.DELETE_CAS) {
+                    deleted++;
+                } else {
+                    set++;
+                }
+            }
         }
+        populateMetrics.count(KeyOperation.SET, set);
+        populateMetrics.count(KeyOperation.DELETED, deleted);
+        populateMetrics.count(KeyOperation.ERRORED, errored);
+        populateMetrics.payload(payload);
+    }
+
+    private Future<Optional<PopulateManifest>> readManifest(final String manifestKey) {
+        return timed(Phase.READ, () -> consulClient.getValue(manifestKey))
+                .<Optional<PopulateManifest>>map(keyValue -> {
+                    if (keyValue == null || !keyValue.isPresent() || keyValue.getValue() == null) {
+                        return Optional.empty();
+                    }
+                    try {
+                        return Optional.of(objectMapper.readValue(keyValue.getValue(), PopulateManifest.class));
+                    } catch (final JsonProcessingException e) {
+                        log.warn("Unable to read the manifest {}, it will be overridden", manifestKey, e);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private Future<Void> writeManifest(final String manifestKey, @Nullable final PopulateManifest manifest) {
+        if (manifest == null) {
+            return Future.succeededFuture();
+        }
+        final String value;
+        try {
+            value = objectMapper.writeValueAsString(manifest);
+        } catch (final JsonProcessingException e) {
+            return Future.failedFuture(new IllegalStateException("Unable to write the manifest. Please check the error logs", e));
+        }
+        final var size = value.getBytes(StandardCharsets.UTF_8).length;
+        if (size > PopulateManifest.MAX_SIZE) {
+            // a stale manifest is removed too, so that it can not be mistaken for the current content
+            log.warn("Manifest {} not stored, its size ({} bytes) exceeds the maximum size of a Consul value ({} bytes): the next populates will not be skipped",
+                    manifestKey, size, PopulateManifest.MAX_SIZE);
+            return consulClient.deleteValue(manifestKey);
+        }
+        return consulClient.putValue(manifestKey, value)
+                .andThen(asyncResult -> log.debug("Manifest {} updated with hash {}", manifestKey, manifest.hash()))
+                .mapEmpty();
+    }
+
+    /**
+     * Write the changes, then read again and retry only the keys of the rolled back transactions, as long as
+     * {@code consul.txn.max-retries} is not reached.
+     *
+     * @return results of all the transactions sent
+     */
+    private Future<List<TxnBatchWriter.BatchResult>> write(final String kvPath,
+                                                           final Iterator<TxnKVOperation> operations,
+                                                           final Function<Set<String>, Future<Map<String, String>>> configsToImport) {
+        return txnBatchWriter.write(operations)
+                .compose(results -> retry(kvPath, new ArrayList<>(results), failedResults(results), 1, configsToImport));
+    }
+
+    private Future<List<TxnBatchWriter.BatchResult>> retry(final String kvPath,
+                                                           final List<TxnBatchWriter.BatchResult> results,
+                                                           final List<TxnBatchWriter.BatchResult> failed,
+                                                           final int attempt,
+                                                           final Function<Set<String>, Future<Map<String, String>>> configsToImport) {
+        final var maxRetries = globalProperties.getTxn().getMaxRetries();
+        if (attempt > maxRetries || failed.isEmpty()) {
+            return Future.succeededFuture(results);
+        }
+
+        final var conflictedKeys = failed.stream()
+                .flatMap(result -> result.operations().stream())
+                .map(TxnKVOperation::getKey)
+                .collect(Collectors.toSet());
+        log.warn("Retrying {} conflicted keys (attempt {}/{})", conflictedKeys.size(), attempt, maxRetries);
+
+        final var currentValues = readValues(kvPath, conflictedKeys);
+        final var configsToRetry = configsToImport.apply(conflictedKeys);
+        return Future.all(currentValues, configsToRetry)
+                .compose(ignored -> {
+                    final var retryChanges = KvDiff.compute(configsToRetry.result(), currentValues.result());
+                    return txnBatchWriter.write(retryChanges.operations().iterator());
+                })
+                .compose(retryResults -> {
+                    // the rolled back results are replaced by those of the retry
+                    results.removeAll(failed);
+                    results.addAll(retryResults);
+                    return retry(kvPath, results, failedResults(retryResults), attempt + 1, configsToImport);
+                });
     }
 
-    private static Function<Map.Entry<String, String>, TxnKVOperation> toSetOperation() {
-        return entry -> new TxnKVOperation()
-                .setKey(entry.getKey())
-                .setValue(entry.getValue())
-                .setType(TxnKVVerb.SET);
+    private static List<TxnBatchWriter.BatchResult> failedResults(final List<TxnBatchWriter.BatchResult> results) {
+        return results.stream()
+                .filter(Predicate.not(TxnBatchWriter.BatchResult::isSuccess))
+                .toList();
     }
 
-    private static Function<String, TxnKVOperation> toDeleteOperation() {
-        return key -> new TxnKVOperation()
-                .setKey(key)
-                .setType(TxnKVVerb.DELETE);
+    /**
+     * @return current values of the given keys, read with a single recursive read of the KV path rather than one read
+     * per key
+     */
+    private Future<List<KeyValue>> readValues(final String kvPath, final Set<String> keys) {
+        return consulClient.getValues(kvPath)
+                .map(keyValues -> Optional.ofNullable(keyValues.getList())
+                        .orElseGet(List::of)
+                        .stream()
+                        .filter(keyValue -> keys.contains(keyValue.getKey()))
+                        .toList());
     }
 
 }
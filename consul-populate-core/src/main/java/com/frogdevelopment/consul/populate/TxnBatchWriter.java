@@ -0,0 +1,296 @@
+package com.frogdevelopment.consul.populate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import jakarta.inject.Singleton;
+
+import com.frogdevelopment.consul.populate.config.GlobalProperties;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.TxnError;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnRequest;
+import io.vertx.ext.consul.TxnResponse;
+
+/**
+ * Writes KV operations into Consul using as many transactions as needed to respect the limits of a single transaction
+ * (number of operations and payload size), sending up to {@code consul.txn.max-in-flight} transactions concurrently.
+ * The operations being possibly produced lazily, by merging and serializing the imported configurations, the batches are
+ * always created on a worker thread, never on the event loop completing the transactions.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+class TxnBatchWriter {
+
+    /**
+     * Approximate size of the JSON envelope of a KV operation: {@code {"KV":{"Verb":"...","Key":"...","Value":"...","Index":...}}}
+     */
+    static final int OPERATION_OVERHEAD = 64;
+
+    private final ConsulClient consulClient;
+    private final Vertx vertx;
+    private final GlobalProperties globalProperties;
+
+    /**
+     * Sends the operations into batched transactions. The operations are consumed lazily, from a worker thread, as
+     * batches are sent: the first ones when called, the next ones when a previous transaction completes.
+     *
+     * @param operations operations to send
+     * @return the result of each batch, in the same order as the batches were created
+     */
+    @NonNull
+    Future<List<BatchResult>> write(@NonNull final Iterator<TxnKVOperation> operations) {
+        final var pipeline = new Pipeline(batches(operations));
+        for (var i = 0; i < globalProperties.getTxn().getMaxInFlight(); i++) {
+            sendNext(pipeline);
+        }
+
+        return pipeline.promise.future();
+    }
+
+    private void sendNext(final Pipeline pipeline) {
+        vertx.executeBlocking(() -> nextBatch(pipeline), false)
+                .onComplete(asyncResult -> {
+                    if (asyncResult.failed()) {
+                        // the operations could not be produced, no need to send the remaining ones
+                        pipeline.promise.fail(asyncResult.cause());
+                    } else if (asyncResult.result() == Batch.LAST) {
+                        pipeline.results.sort(Comparator.comparingInt(BatchResult::index));
+                        log.debug("Sent {} transaction(s)", pipeline.results.size());
+                        pipeline.promise.complete(pipeline.results);
+                    } else if (asyncResult.result() != null) {
+                        send(pipeline, asyncResult.result());
+                    }
+                });
+    }
+
+    /**
+     * Blocking, as producing the operations may merge and serialize the imported configurations
+     *
+     * @return the next batch to send, {@link Batch#LAST} once the last transaction completed, or {@code null} if there
+     * is nothing to send for now
+     */
+    @Nullable
+    private static Batch nextBatch(final Pipeline pipeline) {
+        synchronized (pipeline) {
+            if (pipeline.completed) {
+                return null;
+            }
+            final List<TxnKVOperation> operations;
+            try {
+                operations = pipeline.batches.hasNext() ? pipeline.batches.next() : null;
+            } catch (final RuntimeException e) {
+                pipeline.completed = true;
+                throw e;
+            }
+            if (operations != null) {
+                pipeline.inFlight++;
+                return new Batch(pipeline.nextIndex++, operations);
+            }
+            if (pipeline.inFlight > 0) {
+                // waiting for the transactions in flight
+                return null;
+            }
+            // last transaction completed
+            pipeline.completed = true;
+            return Batch.LAST;
+        }
+    }
+
+    private void send(final Pipeline pipeline, final Batch batch) {
+        final var txnRequest = new TxnRequest();
+        batch.operations().forEach(txnRequest::addOperation);
+
+        consulClient.transaction(txnRequest)
+                .onComplete(asyncResult -> {
+                    final var result = asyncResult.succeeded()
+                            ? new BatchResult(batch.index(), batch.operations(), asyncResult.result(), null)
+                            : new BatchResult(batch.index(), batch.operations(), null, asyncResult.cause());
+                    logResult(result);
+                    synchronized (pipeline) {
+                        pipeline.results.add(result);
+                        pipeline.inFlight--;
+                    }
+                    sendNext(pipeline);
+                });
+    }
+
+    private static void logResult(final BatchResult result) {
+        if (result.failure() != null) {
+            log.error("Transaction {} failed", result.index() + 1, result.failure());
+        } else if (result.response().getErrorsSize() > 0) {
+            log.error("Transaction {} rolled back, some operations ({}) lead to error:\n\t- {}",
+                    result.index() + 1,
+                    result.response().getErrorsSize(),
+                    result.response().getErrors()
+                            .stream()
+                            .map(TxnError::getWhat)
+                            .collect(Collectors.joining("\n\t- "))
+            );
+        } else {
+            log.debug("Transaction {} succeeded with {} operations", result.index() + 1, result.operations().size());
+        }
+    }
+
+    /**
+     * Split the operations into batches respecting {@code consul.txn.max-operations} and {@code consul.txn.max-payload-size}.
+     * An operation bigger than the maximum payload size is sent alone.
+     *
+     * @param operations operations to split
+     * @return batches of operations
+     */
+    @NonNull
+    List<List<TxnKVOperation>> split(@NonNull final List<TxnKVOperation> operations) {
+        final var batches = new ArrayList<List<TxnKVOperation>>();
+        batches(operations.iterator()).forEachRemaining(batches::add);
+        return batches;
+    }
+
+    /**
+     * Lazily group the operations into batches respecting {@code consul.txn.max-operations} and
+     * {@code consul.txn.max-payload-size}.
+     *
+     * @param operations operations to group
+     * @return batches of operations, created on demand
+     * @see #split(List)
+     */
+    @NonNull
+    Iterator<List<TxnKVOperation>> batches(@NonNull final Iterator<TxnKVOperation> operations) {
+        final var maxOperations = globalProperties.getTxn().getMaxOperations();
+        final var maxPayloadSize = globalProperties.getTxn().getMaxPayloadSize();
+
+        return new Iterator<>() {
+
+            // first operation of the next batch, which did not fit in the previous one
+            private TxnKVOperation pending;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || operations.hasNext();
+            }
+
+            @Override
+            public List<TxnKVOperation> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final var current = new ArrayList<TxnKVOperation>();
+                var currentSize = 0L;
+                if (pending != null) {
+                    current.add(pending);
+                    currentSize += estimateSize(pending);
+                    pending = null;
+                }
+                while (operations.hasNext()) {
+                    final var operation = operations.next();
+                    final var size = estimateSize(operation);
+                    if (!current.isEmpty() && (current.size() >= maxOperations || currentSize + size > maxPayloadSize)) {
+                        pending = operation;
+                        break;
+                    }
+                    current.add(operation);
+                    currentSize += size;
+                }
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Values are sent base64 encoded, so the estimated size is the key plus the encoded value plus the JSON envelope.
+     */
+    static long estimateSize(@NonNull final TxnKVOperation operation) {
+        final var valueLength = utf8Length(operation.getValue());
+        return OPERATION_OVERHEAD + utf8Length(operation.getKey()) + 4 * ((valueLength + 2) / 3);
+    }
+
+    private static long utf8Length(@Nullable final String value) {
+        if (value == null) {
+            return 0;
+        }
+        var length = 0L;
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Result of a single transaction
+     *
+     * @param index      index of the batch
+     * @param operations operations sent in the transaction
+     * @param response   response from Consul, {@code null} if the request failed
+     * @param failure    cause of the failure, {@code null} if Consul responded
+     */
+    record BatchResult(int index,
+                       @NonNull List<TxnKVOperation> operations,
+                       @Nullable TxnResponse response,
+                       @Nullable Throwable failure) {
+
+        /**
+         * @return {@code true} if the transaction has been committed
+         */
+        boolean isSuccess() {
+            return failure == null && response != null && response.getErrorsSize() == 0;
+        }
+    }
+
+    /**
+     * Operations of a single transaction
+     *
+     * @param index      index of the batch
+     * @param operations operations to send
+     */
+    private record Batch(int index, List<TxnKVOperation> operations) {
+
+        /**
+         * Marker returned once all the transactions completed
+         */
+        private static final Batch LAST = new Batch(-1, List.of());
+    }
+
+    /**
+     * State of a single call to {@link #write(Iterator)}, guarded by its own monitor
+     */
+    private static final class Pipeline {
+
+        private final Iterator<List<TxnKVOperation>> batches;
+        private final Promise<List<BatchResult>> promise = Promise.promise();
+        private final List<BatchResult> results = new ArrayList<>();
+        private int nextIndex;
+        private int inFlight;
+        private boolean completed;
+
+        private Pipeline(final Iterator<List<TxnKVOperation>> batches) {
+            this.batches = batches;
+        }
+    }
+}
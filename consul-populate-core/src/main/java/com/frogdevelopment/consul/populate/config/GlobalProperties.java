@@ -9,6 +9,8 @@ import java.util.OptionalLong;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.Context;
@@ -64,6 +66,9 @@ public class GlobalProperties {
     @NotNull
     private KV kv = new KV();
 
+    @NotNull
+    private Txn txn = new Txn();
+
     /**
      * KV configuration for the import
      *
@@ -85,12 +90,84 @@ public class GlobalProperties {
          */
         private Optional<@Pattern(regexp = "[\\w\\-.]+") String> version = Optional.empty();
 
+        /**
+         * Whether to store a manifest key ({@code <kv.path>.populate-manifest}) describing the last populated content,
+         * allowing to skip the populate with a single read when nothing changed. Defaults to {@code false}
+         * <p>
+         * The import is only compared with the manifest, not with the content of the KV: while the import does not
+         * change, the keys modified or deleted directly in Consul are not restored. The manifest is not stored when
+         * larger than a Consul value (512 KB), roughly above 5,000 keys.
+         *
+         * @since 1.3.0
+         */
+        private boolean manifestEnabled = false;
+
+        /**
+         * Whether to read the current content of the KV while the configurations are imported, instead of once the
+         * manifest confirmed that something changed. Saves a round-trip when the import changed, at the cost of a
+         * useless read, defeating the manifest, when it did not. Without stored manifest, the content is read while
+         * importing anyway. Only used when {@link #manifestEnabled}. Defaults to {@code false}
+         *
+         * @since 1.3.0
+         */
+        private boolean prefetch = false;
+
         /**
          * @return Path by concatenating {@code kv.path} and {@code kv.version} if present
          */
         @ToString.Include(name = "path")
         public String getPath() {
-            return version.map(value -> prefix + "/" + value + "/").orElse(prefix + "/");
+            return getPath(Optional.empty(), Optional.empty());
         }
+
+        /**
+         * @param targetPrefix  prefix overriding {@code kv.prefix}
+         * @param targetVersion version overriding {@code kv.version}
+         * @return Path of a target written to its own KV path, by concatenating the prefix and the version if present
+         * @since 1.3.0
+         */
+        public String getPath(final Optional<String> targetPrefix, final Optional<String> targetVersion) {
+            final var pathPrefix = targetPrefix.orElse(prefix);
+            return targetVersion.or(() -> version)
+                    .map(value -> pathPrefix + "/" + value + "/")
+                    .orElse(pathPrefix + "/");
+        }
+    }
+
+    /**
+     * Transaction configuration used when writing into Consul's KV
+     *
+     * @author Le Gall Benoît
+     * @since 1.3.0
+     */
+    @Data
+    @ConfigurationProperties("txn")
+    public static class Txn {
+
+        /**
+         * Maximum number of operations sent in a single transaction. Defaults to {@code 64}, the limit enforced by Consul
+         */
+        @Positive
+        private int maxOperations = 64;
+
+        /**
+         * Maximum estimated size (in bytes) of a single transaction payload. Defaults to {@code 512 KB}, the default
+         * {@code txn_max_req_len} of Consul
+         */
+        @Positive
+        private int maxPayloadSize = 512 * 1024;
+
+        /**
+         * Maximum number of transactions sent concurrently to Consul. Defaults to {@code 4}
+         */
+        @Positive
+        private int maxInFlight = 4;
+
+        /**
+         * Maximum number of times the keys of a rolled back transaction, due to a concurrent modification, are read again
+         * and retried. Defaults to {@code 3}
+         */
+        @PositiveOrZero
+        private int maxRetries = 3;
     }
 }
@@ -0,0 +1,166 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Reads the files from the file system: a file is read again when its last modified time or size changed, or when it
+ * is smaller than {@code consul.files.verify-max-size}, as an edit may keep both.
+ * <p>
+ * The files from {@code consul.files.mmap-threshold} bytes are memory-mapped, so that their content is parsed from the
+ * page cache rather than copied on the heap first.
+ * <p>
+ * The symbolic links are followed, to directories as well as to files.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+final class FileSystemFilesSource implements FilesSource, FilesSource.Snapshot {
+
+    static final long DEFAULT_MMAP_THRESHOLD = 1024 * 1024;
+    static final FileSystemFilesSource INSTANCE = new FileSystemFilesSource(DEFAULT_MMAP_THRESHOLD);
+
+    private final long mmapThreshold;
+
+    FileSystemFilesSource(final long mmapThreshold) {
+        this.mmapThreshold = mmapThreshold;
+    }
+
+    @NonNull
+    @Override
+    public Snapshot open() {
+        // files are read as they are
+        return this;
+    }
+
+    @Override
+    public boolean isDirectory(@NonNull final Path directory) {
+        return Files.isDirectory(directory);
+    }
+
+    @NonNull
+    @Override
+    public List<Path> listFiles(@NonNull final Path directory) {
+        return Optional.ofNullable(directory.toFile().listFiles(File::isFile))
+                .map(files -> Arrays.stream(files).map(File::toPath).toList())
+                .orElseGet(List::of);
+    }
+
+    /**
+     * The sub-directories of the directory are walked concurrently on the executor, so that large trees are not walked
+     * by a single thread. A symbolic link leading back to one of its parent directories is skipped.
+     */
+    @NonNull
+    @Override
+    public List<Path> walkFiles(@NonNull final Path directory,
+                                @NonNull final Set<Path> excludedDirectories,
+                                @NonNull final Executor executor) throws IOException {
+        final var files = new ArrayList<Path>();
+        final var subDirectories = new ArrayList<Path>();
+        try (final var entries = Files.list(directory)) {
+            for (final var entry : entries.toList()) {
+                if (Files.isDirectory(entry)) {
+                    if (!excludedDirectories.contains(entry.normalize())) {
+                        subDirectories.add(entry);
+                    }
+                } else if (Files.isRegularFile(entry)) {
+                    files.add(entry);
+                }
+            }
+        }
+
+        final var futures = subDirectories.stream()
+                .map(subDirectory -> CompletableFuture.supplyAsync(() -> walkFileTree(subDirectory, excludedDirectories), executor))
+                .toList();
+        try {
+            futures.forEach(future -> files.addAll(future.join()));
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof final UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw e;
+        }
+        return files;
+    }
+
+    private static List<Path> walkFileTree(final Path directory, final Set<Path> excludedDirectories) {
+        final var files = new ArrayList<Path>();
+        try {
+            Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    return excludedDirectories.contains(dir.normalize())
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException exc) throws IOException {
+                    if (exc instanceof FileSystemLoopException) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    throw exc;
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    @NonNull
+    @Override
+    public String stamp(@NonNull final Path file) throws IOException {
+        final var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+    }
+
+    @NonNull
+    @Override
+    public byte[] read(@NonNull final Path file) throws IOException {
+        return Files.readAllBytes(file);
+    }
+
+    @NonNull
+    @Override
+    public ByteBuffer readBuffer(@NonNull final Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            if (size < mmapThreshold) {
+                return ByteBuffer.wrap(read(file));
+            }
+            // the mapping stays valid once the channel is closed, and is released with the buffer
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.frogdevelopment.consul.populate.files;
 import java.nio.file.Paths;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
 
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
@@ -17,25 +18,27 @@ public class FilesImportFactory {
 
     @Bean
     @Requires(property = "consul.files.format", value = "JSON")
-    JsonFilesImporter jsonFilesImporter(final ImportFileProperties importFileProperties, final ObjectMapper objectMapper) {
+    JsonFilesImporter jsonFilesImporter(final ImportFileProperties importFileProperties,
+                                        final ObjectMapper objectMapper,
+                                        final PopulateMetrics populateMetrics) {
         final var rootPath = Paths.get(importFileProperties.getRootPath());
         final var targetPath = rootPath.resolve(importFileProperties.getTarget());
-        return new JsonFilesImporter(rootPath, targetPath, objectMapper);
+        return new JsonFilesImporter(rootPath, targetPath, importFileProperties, objectMapper, populateMetrics);
     }
 
     @Bean
     @Requires(property = "consul.files.format", value = "PROPERTIES")
-    PropertiesFilesImporter propertiesFilesImporter(final ImportFileProperties importFileProperties) {
+    PropertiesFilesImporter propertiesFilesImporter(final ImportFileProperties importFileProperties, final PopulateMetrics populateMetrics) {
         final var rootPath = Paths.get(importFileProperties.getRootPath());
         final var targetPath = rootPath.resolve(importFileProperties.getTarget());
-        return new PropertiesFilesImporter(rootPath, targetPath);
+        return new PropertiesFilesImporter(rootPath, targetPath, importFileProperties, populateMetrics);
     }
 
     @Bean
     @Requires(property = "consul.files.format", value = "YAML")
-    YamlFilesImporter yamlFilesImporter(final ImportFileProperties importFileProperties) {
+    YamlFilesImporter yamlFilesImporter(final ImportFileProperties importFileProperties, final PopulateMetrics populateMetrics) {
         final var rootPath = Paths.get(importFileProperties.getRootPath());
         final var targetPath = rootPath.resolve(importFileProperties.getTarget());
-        return new YamlFilesImporter(rootPath, targetPath);
+        return new YamlFilesImporter(rootPath, targetPath, importFileProperties, populateMetrics);
     }
 }
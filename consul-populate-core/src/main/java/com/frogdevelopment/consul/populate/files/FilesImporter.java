@@ -1,108 +1,515 @@
 package com.frogdevelopment.consul.populate.files;
 
-import lombok.RequiredArgsConstructor;
-
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.frogdevelopment.consul.populate.DataImporter;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.PopulateMetrics.Phase;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
-import io.micronaut.core.util.ArrayUtils;
 
 /**
- * Base logic when importing data from files
+ * Base logic when importing data from files.
+ * <p>
+ * Files of the root and target directories are parsed concurrently, on at most {@code consul.files.parallelism}
+ * threads, then merged once all of them are read. Implementations must then be able to read files concurrently.
+ * The merged configurations are serialized through an {@link OverlayMap} view of the target over the root, so that
+ * the merged tree is never built.
+ * <p>
+ * The parsed files and the serialized results are kept between calls: a file is only parsed again when its content
+ * hash changed, and the merge/serialization only runs again for the file names whose root or target file changed.
+ * A file is not even read again when its last modified time and size did not change, unless it is smaller than
+ * {@code consul.files.verify-max-size}, as they may miss a change.
+ * <p>
+ * The files are read from the file system, unless another {@link FilesSource} is given.
+ * <p>
+ * When {@code consul.files.recursive} is enabled, the files of the sub-directories are imported too, keyed by their
+ * path relative to the root or target directory: the target directory overrides the root one per relative path, and
+ * is itself skipped from the root directory, as are the {@code consul.files.excluded-directories}.
+ * <p>
+ * The {@code consul.files.targets} are imported along with the target directory: the root directory is listed and
+ * parsed once for all of them, then each target is merged in the root configurations concurrently.
  *
  * @author Le Gall Benoît
  * @since 1.0.0
  */
-@RequiredArgsConstructor
 public abstract sealed class FilesImporter implements DataImporter
         permits JsonFilesImporter, PropertiesFilesImporter, YamlFilesImporter {
 
     private static final Logger log = LoggerFactory.getLogger(FilesImporter.class);
 
+    private final FilesSource filesSource;
     private final Path rootPath;
     private final Path targetPath;
+    private final String target;
+    private final List<ImportFileProperties.Target> additionalTargets;
+    private final int parallelism;
+    private final boolean recursive;
+    private final List<String> excludedDirectories;
+    private final long verifyMaxSize;
+    private final PopulateMetrics populateMetrics;
+
+    // kept between imports, so that only the changed files are parsed and serialized again
+    private final Map<Path, ParsedFile> parsedFiles = new ConcurrentHashMap<>();
+    private final Map<Path, Map<String, SerializedFile>> serializedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor using default {@link ImportFileProperties}
+     *
+     * @param rootPath   Path to root directory
+     * @param targetPath Subdirectory used to override root configurations
+     */
+    protected FilesImporter(final Path rootPath, final Path targetPath) {
+        this(rootPath, targetPath, new ImportFileProperties());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @since 1.3.0
+     */
+    protected FilesImporter(final Path rootPath, final Path targetPath, final ImportFileProperties importFileProperties) {
+        this(rootPath, targetPath, importFileProperties, unregisteredMetrics());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the parse and serialize phases
+     * @since 1.3.0
+     */
+    protected FilesImporter(final Path rootPath,
+                            final Path targetPath,
+                            final ImportFileProperties importFileProperties,
+                            final PopulateMetrics populateMetrics) {
+        this(FilesSource.fileSystem(importFileProperties.getMmapThreshold()), rootPath, targetPath, importFileProperties,
+                populateMetrics);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filesSource          Source from which the files are read
+     * @param rootPath             Path to root directory, within the source
+     * @param targetPath           Subdirectory used to override root configurations, within the source
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the parse and serialize phases
+     * @since 1.3.0
+     */
+    protected FilesImporter(final FilesSource filesSource,
+                            final Path rootPath,
+                            final Path targetPath,
+                            final ImportFileProperties importFileProperties,
+                            final PopulateMetrics populateMetrics) {
+        this.filesSource = filesSource;
+        this.rootPath = rootPath;
+        this.targetPath = targetPath;
+        this.target = importFileProperties.getTarget();
+        this.additionalTargets = List.copyOf(importFileProperties.getTargets());
+        this.parallelism = importFileProperties.getParallelism();
+        this.recursive = importFileProperties.isRecursive();
+        this.excludedDirectories = List.copyOf(importFileProperties.getExcludedDirectories());
+        this.verifyMaxSize = importFileProperties.getVerifyMaxSize();
+        this.populateMetrics = populateMetrics;
+    }
+
+    /**
+     * @return metrics whose meters are not registered anywhere, used when none are given
+     */
+    static PopulateMetrics unregisteredMetrics() {
+        return new PopulateMetrics(new CompositeMeterRegistry());
+    }
 
     @NonNull
     @Override
     public Map<String, String> execute() {
-        // validate paths
-        if (!rootPath.toFile().exists()) {
-            throw new IllegalArgumentException("Root directory does not exist: " + rootPath);
+        return collect(doStream(null));
+    }
+
+    /**
+     * The files are all parsed before returning the stream, but each configuration is merged and serialized only when
+     * consumed.
+     */
+    @NonNull
+    @Override
+    public Stream<Map.Entry<String, String>> stream() {
+        return doStream(null);
+    }
+
+    /**
+     * Only the files whose name (without extension) is one of the keys are read, from the root and target directories.
+     */
+    @NonNull
+    @Override
+    public Map<String, String> execute(@NonNull final Set<String> keys) {
+        return collect(doStream(keys));
+    }
+
+    private static Map<String, String> collect(final Stream<Map.Entry<String, String>> configs) {
+        return configs.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> second, HashMap::new));
+    }
+
+    /**
+     * The target directory comes first, followed by the {@code consul.files.targets}.
+     */
+    @NonNull
+    @Override
+    public List<Target> targets() {
+        if (additionalTargets.isEmpty()) {
+            return List.of();
         }
-        if (!targetPath.toFile().exists()) {
-            throw new IllegalArgumentException("Target directory does not exist: " + targetPath);
+        final var targets = new ArrayList<Target>();
+        targets.add(new Target(target, Optional.empty(), Optional.empty()));
+        for (final var additionalTarget : additionalTargets) {
+            targets.add(new Target(additionalTarget.getName(), additionalTarget.getKvPrefix(), additionalTarget.getKvVersion()));
         }
+        return targets;
+    }
 
-        // list files in root directory
-        final var rootFiles = readFiles(rootPath);
+    /**
+     * The files of the root directory are parsed once, along with those of all the targets, then each target is merged
+     * and serialized on its own thread.
+     */
+    @NonNull
+    @Override
+    public Map<String, Map<String, String>> executeTargets() {
+        final var targetPaths = targetPaths();
+        final var importedFiles = parseAll(targetPaths.values(), null);
 
-        final Map<String, SequencedMap<String, Object>> finalFiles;
-        if (rootPath.equals(targetPath)) {
-            finalFiles = rootFiles;
-        } else {
-            // list files in target subdirectory
-            final var targetFiles = readFiles(targetPath);
+        try (final var executor = newExecutor()) {
+            final var futures = new LinkedHashMap<String, Future<Map<String, String>>>();
+            targetPaths.forEach((name, path) -> futures.put(name, executor.submit(() -> collect(entries(importedFiles, path)))));
 
-            // for each target, merge in root if exists
-            finalFiles = MapHelper.merge(rootFiles, targetFiles);
+            final var configs = new LinkedHashMap<String, Map<String, String>>();
+            for (final var entry : futures.entrySet()) {
+                configs.put(entry.getKey(), await(executor, entry.getValue()));
+            }
+            return configs;
         }
+    }
 
-        try {
-            final var result = new HashMap<String, String>();
-            for (final var entry : finalFiles.entrySet()) {
-                final var key = FilenameUtils.removeExtension(entry.getKey());
-                final var value = writeValueAsString(entry.getValue());
-                if (value.isEmpty()) {
-                    log.warn("Skipping empty configurations for file '{}'", entry.getKey());
-                } else {
-                    result.put(key, value);
+    /**
+     * @return path of each target directory, by target name
+     */
+    private Map<String, Path> targetPaths() {
+        final var targetPaths = new LinkedHashMap<String, Path>();
+        targetPaths.put(target, targetPath);
+        for (final var additionalTarget : additionalTargets) {
+            if (targetPaths.putIfAbsent(additionalTarget.getName(), rootPath.resolve(additionalTarget.getName())) != null) {
+                throw new IllegalArgumentException("Target defined more than once: " + additionalTarget.getName());
+            }
+        }
+        return targetPaths;
+    }
+
+    private Stream<Map.Entry<String, String>> doStream(@Nullable final Set<String> keys) {
+        return entries(parseAll(List.of(targetPath), keys), targetPath);
+    }
+
+    /**
+     * Parse the files of the root directory, and of the given target directories, all at once
+     */
+    private ImportedFiles parseAll(final Collection<Path> targetPaths, @Nullable final Set<String> keys) {
+        final List<Path> rootFiles;
+        final var targetFiles = new LinkedHashMap<Path, List<Path>>();
+        final Map<String, ParsedFile> rootData;
+        final var targetsData = new HashMap<Path, Map<String, ParsedFile>>();
+        // all the files are read from the same snapshot
+        try (final var snapshot = filesSource.open()) {
+            // validate paths
+            if (!snapshot.isDirectory(rootPath)) {
+                throw new IllegalArgumentException("Root directory does not exist: " + rootPath);
+            }
+            for (final var path : targetPaths) {
+                if (!snapshot.isDirectory(path)) {
+                    throw new IllegalArgumentException("Target directory does not exist: " + path);
                 }
             }
 
-            return result;
+            try (final var executor = newExecutor()) {
+                // list files in root and target directories
+                rootFiles = filterKeys(rootPath, listFiles(snapshot, rootPath, executor), keys);
+                for (final var path : targetPaths) {
+                    final var sameDirectory = rootPath.equals(path);
+                    targetFiles.put(path, sameDirectory ? List.of() : filterKeys(path, listFiles(snapshot, path, executor), keys));
+                }
+
+                // parse all the files at once, root and target ones
+                final var parseStart = populateMetrics.start();
+                final var rootFutures = submitAll(executor, snapshot, rootFiles);
+                final var targetFutures = new LinkedHashMap<Path, Map<Path, Future<ParsedFile>>>();
+                targetFiles.forEach((path, files) -> targetFutures.put(path, submitAll(executor, snapshot, files)));
+
+                try {
+                    rootData = collect(executor, rootPath, rootFutures);
+                    targetFutures.forEach((path, futures) -> targetsData.put(path, collect(executor, path, futures)));
+                } finally {
+                    populateMetrics.stop(Phase.PARSE, parseStart);
+                }
+            }
         } catch (final IOException e) {
-            throw new IllegalStateException("Unable to process the configurations to import. Please check the error logs", e);
+            throw new IllegalStateException("Unable to read the configurations. Please check the error logs", e);
+        }
+
+        if (keys == null) {
+            // forget the deleted files
+            final var listedPaths = new HashSet<>(rootFiles);
+            targetFiles.values().forEach(listedPaths::addAll);
+            parsedFiles.keySet().retainAll(listedPaths);
+            serializedFiles.keySet().retainAll(targetsData.keySet());
+            targetsData.forEach((path, targetData) -> serializedFiles(path).keySet().retainAll(fileNames(rootData, targetData)));
+        }
+        return new ImportedFiles(rootData, targetsData);
+    }
+
+    private Stream<Map.Entry<String, String>> entries(final ImportedFiles importedFiles, final Path path) {
+        final var rootData = importedFiles.rootData();
+        final var targetData = importedFiles.targetsData().get(path);
+        final var targetSerializedFiles = serializedFiles(path);
+        return fileNames(rootData, targetData).stream()
+                .map(fileName -> toEntry(targetSerializedFiles, fileName, rootData.get(fileName), targetData.get(fileName)))
+                .filter(Objects::nonNull);
+    }
+
+    private static Set<String> fileNames(final Map<String, ParsedFile> rootData, final Map<String, ParsedFile> targetData) {
+        final var fileNames = new LinkedHashSet<>(rootData.keySet());
+        fileNames.addAll(targetData.keySet());
+        return fileNames;
+    }
+
+    /**
+     * @return the serialized results of the given target directory, as a target is merged with its own files
+     */
+    private Map<String, SerializedFile> serializedFiles(final Path path) {
+        return serializedFiles.computeIfAbsent(path, ignored -> new ConcurrentHashMap<>());
+    }
+
+    @Nullable
+    private Map.Entry<String, String> toEntry(final Map<String, SerializedFile> targetSerializedFiles,
+                                              final String fileName,
+                                              @Nullable final ParsedFile rootFile,
+                                              @Nullable final ParsedFile targetFile) {
+        // merge and serialize again only when one of the files changed
+        var serializedFile = targetSerializedFiles.get(fileName);
+        if (serializedFile == null || !serializedFile.isFrom(rootFile, targetFile)) {
+            log.debug("Serializing configurations for file '{}'", fileName);
+            try {
+                serializedFile = serialize(rootFile, targetFile);
+            } catch (final IOException e) {
+                throw new IllegalStateException("Unable to process the configurations to import. Please check the error logs", e);
+            }
+            targetSerializedFiles.put(fileName, serializedFile);
+        }
+
+        final var value = serializedFile.value();
+        if (value.isEmpty()) {
+            log.warn("Skipping empty configurations for file '{}'", fileName);
+            return null;
         }
+        return Map.entry(FilenameUtils.removeExtension(fileName), value);
     }
 
-    private Map<String, SequencedMap<String, Object>> readFiles(final Path path) {
+    private SerializedFile serialize(@Nullable final ParsedFile rootFile, @Nullable final ParsedFile targetFile) throws IOException {
+        final SequencedMap<String, Object> data;
+        if (rootFile == null) {
+            data = targetFile.data();
+        } else if (targetFile == null) {
+            data = rootFile.data();
+        } else {
+            // merge target in root while serializing, without building the merged tree
+            data = new OverlayMap(rootFile.data(), targetFile.data());
+        }
+        final var serializeStart = populateMetrics.start();
         try {
-            final var files = path.toFile().listFiles(this::filterFile);
-            if (ArrayUtils.isEmpty(files)) {
-                throw new IllegalArgumentException("No configuration files found in directory: " + path);
+            return new SerializedFile(hashOf(rootFile), hashOf(targetFile), writeValueAsString(data));
+        } finally {
+            populateMetrics.stop(Phase.SERIALIZE, serializeStart);
+        }
+    }
+
+    private List<Path> listFiles(final FilesSource.Snapshot snapshot,
+                                 final Path path,
+                                 final ExecutorService executor) throws IOException {
+        final var listedFiles = recursive
+                ? snapshot.walkFiles(path, excludedDirectories(path), executor)
+                : snapshot.listFiles(path);
+        final var files = listedFiles.stream()
+                .filter(this::filterFile)
+                .toList();
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No configuration files found in directory: " + path);
+        }
+        return files;
+    }
+
+    /**
+     * @return the directories skipped when walking the given directory: the target directories are not part of the root
+     * configurations
+     */
+    private Set<Path> excludedDirectories(final Path directory) {
+        return Stream.concat(excludedDirectories.stream().map(rootPath::resolve), targetPaths().values().stream())
+                .map(Path::normalize)
+                .filter(excluded -> !excluded.equals(directory.normalize()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static List<Path> filterKeys(final Path directory, final List<Path> files, @Nullable final Set<String> keys) {
+        if (keys == null) {
+            return files;
+        }
+        return files.stream()
+                .filter(file -> keys.contains(FilenameUtils.removeExtension(relativeName(directory, file))))
+                .toList();
+    }
+
+    /**
+     * @return the path of the file relative to the directory, with {@code /} separators, which is its name when
+     * directly in the directory
+     */
+    private static String relativeName(final Path directory, final Path file) {
+        return FilenameUtils.separatorsToUnix(directory.relativize(file).toString());
+    }
+
+    private ExecutorService newExecutor() {
+        // parsing is mostly CPU bound: virtual threads are cheap to create, the pool bounds how many run at once
+        return Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("files-importer-", 0).factory());
+    }
+
+    private Map<Path, Future<ParsedFile>> submitAll(final ExecutorService executor,
+                                                    final FilesSource.Snapshot snapshot,
+                                                    final List<Path> files) {
+        final var futures = new LinkedHashMap<Path, Future<ParsedFile>>();
+        for (final var file : files) {
+            futures.put(file, executor.submit(() -> parse(snapshot, file)));
+        }
+        return futures;
+    }
+
+    /**
+     * Parse the file, unless it did not change since the previous import
+     */
+    private ParsedFile parse(final FilesSource.Snapshot snapshot, final Path path) throws IOException {
+        final var stamp = snapshot.stamp(path);
+
+        final var cached = parsedFiles.get(path);
+        final var sameStamp = cached != null && cached.stamp().equals(stamp);
+        // the file is only read, or mapped, when it may have changed
+        if (sameStamp && (verifyMaxSize == 0 || snapshot.isStampExact() || cached.size() > verifyMaxSize)) {
+            // an exact stamp, or a file too large to be checked on each import: the stamp is trusted
+            return cached;
+        }
+
+        final var content = snapshot.readBuffer(path);
+        final var size = content.remaining();
+        final var hash = hash(content);
+        final ParsedFile parsedFile;
+        if (cached != null && cached.hash().equals(hash)) {
+            if (sameStamp) {
+                return cached;
             }
-            final var dataMap = new HashMap<String, SequencedMap<String, Object>>();
-            for (final var file : files) {
-                final var data = readFile(file);
-                if (data == null) {
-                    log.warn("Content is null for file: {}", file.getAbsolutePath());
-                    continue;
-                }
-                dataMap.put(file.getName(), data);
+            // touched, but content is the same
+            parsedFile = new ParsedFile(stamp, size, hash, cached.data());
+        } else {
+            parsedFile = new ParsedFile(stamp, size, hash, readFile(content));
+        }
+        parsedFiles.put(path, parsedFile);
+        return parsedFile;
+    }
+
+    private Map<String, ParsedFile> collect(final ExecutorService executor,
+                                            final Path directory,
+                                            final Map<Path, Future<ParsedFile>> futures) {
+        final var dataMap = new HashMap<String, ParsedFile>();
+        for (final var entry : futures.entrySet()) {
+            final var file = entry.getKey();
+            final var parsedFile = await(executor, entry.getValue());
+            if (parsedFile.data() == null) {
+                log.warn("Content is null for file: {}", file);
+                continue;
             }
-            return dataMap;
-        } catch (final IOException e) {
-            throw new IllegalStateException("Unable to read the configurations. Please check the error logs", e);
+            dataMap.put(relativeName(directory, file), parsedFile);
         }
+        return dataMap;
     }
 
-    private boolean filterFile(@NonNull final File file) {
-        if (file.isDirectory()) {
-            return false;
+    private static <T> T await(final ExecutorService executor, final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the configurations", e);
+        } catch (final ExecutionException e) {
+            // no need to wait for the other files
+            executor.shutdownNow();
+            final var cause = e.getCause();
+            if (cause instanceof final IOException ioException) {
+                throw new IllegalStateException("Unable to read the configurations. Please check the error logs", ioException);
+            }
+            if (cause instanceof final RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Unable to read the configurations. Please check the error logs", cause);
         }
-        final var extension = FilenameUtils.getExtension(file.getName());
+    }
+
+    private static String hash(final ByteBuffer content) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            // on a duplicate, so that the content is still to be parsed
+            digest.update(content.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable
+    private static String hashOf(@Nullable final ParsedFile parsedFile) {
+        return parsedFile == null ? null : parsedFile.hash();
+    }
+
+    private boolean filterFile(@NonNull final Path file) {
+        final var extension = FilenameUtils.getExtension(file.getFileName().toString());
         return isExtensionAccepted(extension);
     }
 
@@ -112,9 +519,54 @@ public abstract sealed class FilesImporter implements DataImporter
      */
     protected abstract boolean isExtensionAccepted(@NonNull final String extension);
 
+    /**
+     * Parse the content of a file. Called concurrently for different files.
+     *
+     * @param content Content of the file to parse, from its position to its limit, possibly memory-mapped
+     * @return the parsed content, or {@code null} if the file is empty
+     * @throws IOException if the content can not be parsed
+     */
     @Nullable
-    protected abstract SequencedMap<String, Object> readFile(@NonNull final File file) throws IOException;
+    protected abstract SequencedMap<String, Object> readFile(@NonNull final ByteBuffer content) throws IOException;
+
+    /**
+     * @param content Content of a file
+     * @return a stream reading the content, without copying it nor changing the position of the buffer
+     * @since 1.3.0
+     */
+    @NonNull
+    protected static InputStream inputStream(@NonNull final ByteBuffer content) {
+        return new ByteBufferBackedInputStream(content.duplicate());
+    }
 
     @NonNull
     protected abstract String writeValueAsString(@NonNull final Map<String, Object> map) throws IOException;
+
+    /**
+     * @param stamp version marker of the file given by the {@link FilesSource}
+     * @param size  size of the content of the file, in bytes
+     * @param hash  SHA-256 of the content of the file
+     * @param data  parsed content, {@code null} if the file is empty
+     */
+    private record ParsedFile(String stamp, long size, String hash, @Nullable SequencedMap<String, Object> data) {
+    }
+
+    /**
+     * @param rootData    parsed files of the root directory, by relative name
+     * @param targetsData parsed files of each target directory, by relative name
+     */
+    private record ImportedFiles(Map<String, ParsedFile> rootData, Map<Path, Map<String, ParsedFile>> targetsData) {
+    }
+
+    /**
+     * @param rootHash   hash of the root file used, {@code null} if none
+     * @param targetHash hash of the target file used, {@code null} if none
+     * @param value      merged and serialized content
+     */
+    private record SerializedFile(@Nullable String rootHash, @Nullable String targetHash, String value) {
+
+        boolean isFrom(@Nullable final ParsedFile rootFile, @Nullable final ParsedFile targetFile) {
+            return Objects.equals(rootHash, hashOf(rootFile)) && Objects.equals(targetHash, hashOf(targetFile));
+        }
+    }
 }
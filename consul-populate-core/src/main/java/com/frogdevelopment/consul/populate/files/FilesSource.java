@@ -0,0 +1,131 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Source from which the {@link FilesImporter} reads the configuration files, the file system by default.
+ * <p>
+ * Each import reads its files from a {@link Snapshot}, so that a source able to, like a git commit, gives a consistent
+ * view of all the files even if they are updated meanwhile.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+public interface FilesSource {
+
+    /**
+     * @return the source reading the files from the file system
+     */
+    @NonNull
+    static FilesSource fileSystem() {
+        return FileSystemFilesSource.INSTANCE;
+    }
+
+    /**
+     * @param mmapThreshold size, in bytes, from which a file is memory-mapped instead of copied in memory
+     * @return the source reading the files from the file system
+     * @since 1.3.0
+     */
+    @NonNull
+    static FilesSource fileSystem(final long mmapThreshold) {
+        return mmapThreshold == FileSystemFilesSource.DEFAULT_MMAP_THRESHOLD
+                ? FileSystemFilesSource.INSTANCE
+                : new FileSystemFilesSource(mmapThreshold);
+    }
+
+    /**
+     * @return a view of the files, used for a single import
+     * @throws IOException if the source can not be read
+     */
+    @NonNull
+    Snapshot open() throws IOException;
+
+    /**
+     * View of the files used for a single import. The files are listed first, then read concurrently.
+     */
+    interface Snapshot extends AutoCloseable {
+
+        /**
+         * @param directory path of the directory
+         * @return {@code true} if the directory exists
+         * @throws IOException if the directory can not be accessed
+         */
+        boolean isDirectory(@NonNull Path directory) throws IOException;
+
+        /**
+         * @param directory path of an existing directory
+         * @return the paths of the files directly in the directory, sub-directories excluded
+         * @throws IOException if the directory can not be listed
+         */
+        @NonNull
+        List<Path> listFiles(@NonNull Path directory) throws IOException;
+
+        /**
+         * @param directory           path of an existing directory
+         * @param excludedDirectories normalized paths of the sub-directories whose files are skipped
+         * @param executor            executor of the import, on which the sub-directories may be walked concurrently
+         * @return the paths of the files under the directory, at any depth
+         * @throws IOException if the directory can not be walked
+         */
+        @NonNull
+        List<Path> walkFiles(@NonNull Path directory, @NonNull Set<Path> excludedDirectories, @NonNull Executor executor)
+                throws IOException;
+
+        /**
+         * Cheap marker of the version of a listed file, like its last modified time and size: as long as it is the
+         * same, the file is not read again.
+         *
+         * @param file path of a listed file
+         * @return the version marker of the file
+         * @throws IOException if the file can not be accessed
+         */
+        @NonNull
+        String stamp(@NonNull Path file) throws IOException;
+
+        /**
+         * Whether the {@link #stamp(Path) stamp} of a file identifies its content, like a hash of it. Otherwise, the
+         * stamp may stay the same while the content changed: the small files are then read again and their content
+         * hash compared, see {@code consul.files.verify-max-size}.
+         *
+         * @return {@code true} if a file with the same stamp always has the same content, {@code false} by default
+         * @since 1.3.0
+         */
+        default boolean isStampExact() {
+            return false;
+        }
+
+        /**
+         * @param file path of a listed file
+         * @return the content of the file
+         * @throws IOException if the file can not be read
+         */
+        @NonNull
+        byte[] read(@NonNull Path file) throws IOException;
+
+        /**
+         * Content of the file as given to the parsers, which is {@link #read(Path)} by default. A source able to, like
+         * the file system for large files, gives the content without copying it.
+         *
+         * @param file path of a listed file
+         * @return the content of the file, from its position to its limit
+         * @throws IOException if the file can not be read
+         * @since 1.3.0
+         */
+        @NonNull
+        default ByteBuffer readBuffer(@NonNull final Path file) throws IOException {
+            return ByteBuffer.wrap(read(file));
+        }
+
+        @Override
+        default void close() throws IOException {
+            // nothing to release by default
+        }
+    }
+}
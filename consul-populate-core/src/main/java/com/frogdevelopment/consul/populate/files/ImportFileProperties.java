@@ -2,12 +2,21 @@ package com.frogdevelopment.consul.populate.files;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import com.frogdevelopment.consul.populate.config.ImportProperties;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Introspected;
 
 /**
  * Properties for files import
@@ -31,12 +40,102 @@ public final class ImportFileProperties implements ImportProperties {
     @NotBlank
     private String target;
 
+    /**
+     * Additional subdirectories imported along with the target, each written to its own KV path. The root directory
+     * is then parsed once for all of them, instead of once per populate
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    private List<@Valid Target> targets = new ArrayList<>();
+
     /**
      * Format of files to import
      */
     @NotNull
     private Format format = Format.YAML;
 
+    /**
+     * Library used to read and write the YAML files. Defaults to {@link YamlEngine#SNAKEYAML SNAKEYAML}
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    private YamlEngine yamlEngine = YamlEngine.SNAKEYAML;
+
+    /**
+     * Maximum number of files parsed concurrently. Defaults to the number of available processors
+     *
+     * @since 1.3.0
+     */
+    @Positive
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Size, in bytes, from which a file is memory-mapped instead of copied in memory before being parsed. Defaults to
+     * 1 MiB. The mapped files must not be truncated while the import runs
+     *
+     * @since 1.3.0
+     */
+    @Positive
+    private long mmapThreshold = FileSystemFilesSource.DEFAULT_MMAP_THRESHOLD;
+
+    /**
+     * Size, in bytes, up to which a file is read and its content hash compared on each import, even when its last
+     * modified time and size did not change: they miss an edit keeping both, like a copy preserving the last modified
+     * time ({@code cp -p}, {@code rsync -t}). Larger files are only read again when their last modified time or size
+     * changed. Defaults to 1 MiB, {@code 0} to always rely on the last modified time and size
+     *
+     * @since 1.3.0
+     */
+    @PositiveOrZero
+    private long verifyMaxSize = 1024 * 1024;
+
+    /**
+     * Whether to import the files of the sub-directories too, their path relative to the root or target directory
+     * being used as key, like {@code services/orders/application}. A file of the target directory overrides the file
+     * with the same relative path in the root directory
+     *
+     * @since 1.3.0
+     */
+    private boolean recursive = false;
+
+    /**
+     * Sub-directories of the root directory skipped by the recursive import, like the directories of the other
+     * targets. The target directory is always skipped from the root directory
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    private List<String> excludedDirectories = new ArrayList<>();
+
+    /**
+     * Additional target of the import
+     *
+     * @author Le Gall Benoît
+     * @since 1.3.0
+     */
+    @Data
+    @Introspected
+    public static class Target {
+
+        /**
+         * Subdirectory used to override root configurations
+         */
+        @NotBlank
+        private String name;
+
+        /**
+         * Prefix of the KV path where the configuration of this target is stored. Defaults to {@code consul.kv.prefix}
+         */
+        private Optional<@Pattern(regexp = "(?>[\\w\\-]+/)*[\\w\\-]+") String> kvPrefix = Optional.empty();
+
+        /**
+         * Version of the configuration of this target. Defaults to {@code consul.kv.version}
+         */
+        private Optional<@Pattern(regexp = "[\\w\\-.]+") String> kvVersion = Optional.empty();
+    }
+
     /**
      * Supported type of file format
      */
@@ -45,4 +144,23 @@ public final class ImportFileProperties implements ImportProperties {
         JSON,
         PROPERTIES
     }
+
+    /**
+     * Supported library to read and write the YAML files
+     *
+     * @since 1.3.0
+     */
+    public enum YamlEngine {
+        /**
+         * SnakeYAML, reading YAML 1.1
+         */
+        SNAKEYAML,
+        /**
+         * Jackson, reading YAML with a streaming parser, faster than SnakeYAML. Its output is the same as SnakeYAML one,
+         * except for the strings needing quotes, like {@code "123"}, quoted with double quotes instead of single ones.
+         * As it reads YAML 1.2, {@code yes}/{@code no} are strings rather than booleans, and merge keys ({@code <<}) are
+         * not supported
+         */
+        JACKSON
+    }
 }
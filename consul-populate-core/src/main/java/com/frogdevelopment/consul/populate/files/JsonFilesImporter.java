@@ -1,8 +1,7 @@
 package com.frogdevelopment.consul.populate.files;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -12,6 +11,9 @@ import java.util.SequencedMap;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
 
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
@@ -27,7 +29,12 @@ public final class JsonFilesImporter extends FilesImporter {
 
     private static final List<String> EXTENSIONS = List.of("json");
 
-    private final ObjectMapper objectMapper;
+    private static final TypeReference<LinkedHashMap<String, Object>> TYPE_REFERENCE = new TypeReference<>() {
+    };
+
+    // immutable and thread-safe, built once instead of on each file
+    private final ObjectReader objectReader;
+    private final ObjectWriter objectWriter;
 
     /**
      * Constructor
@@ -37,8 +44,64 @@ public final class JsonFilesImporter extends FilesImporter {
      * @param objectMapper ObjectMapper instance used for Json I/O
      */
     public JsonFilesImporter(final Path rootPath, final Path targetPath, final ObjectMapper objectMapper) {
-        super(rootPath, targetPath);
-        this.objectMapper = objectMapper;
+        this(rootPath, targetPath, new ImportFileProperties(), objectMapper);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @param objectMapper         ObjectMapper instance used for Json I/O
+     * @since 1.3.0
+     */
+    public JsonFilesImporter(final Path rootPath,
+                             final Path targetPath,
+                             final ImportFileProperties importFileProperties,
+                             final ObjectMapper objectMapper) {
+        this(rootPath, targetPath, importFileProperties, objectMapper, unregisteredMetrics());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @param objectMapper         ObjectMapper instance used for Json I/O
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     */
+    public JsonFilesImporter(final Path rootPath,
+                             final Path targetPath,
+                             final ImportFileProperties importFileProperties,
+                             final ObjectMapper objectMapper,
+                             final PopulateMetrics populateMetrics) {
+        this(FilesSource.fileSystem(importFileProperties.getMmapThreshold()), rootPath, targetPath, importFileProperties,
+                objectMapper, populateMetrics);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filesSource          Source from which the files are read
+     * @param rootPath             Path to root directory, within the source
+     * @param targetPath           Subdirectory used to override root configurations, within the source
+     * @param importFileProperties Properties used to tune the import
+     * @param objectMapper         ObjectMapper instance used for Json I/O
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     */
+    public JsonFilesImporter(final FilesSource filesSource,
+                             final Path rootPath,
+                             final Path targetPath,
+                             final ImportFileProperties importFileProperties,
+                             final ObjectMapper objectMapper,
+                             final PopulateMetrics populateMetrics) {
+        super(filesSource, rootPath, targetPath, importFileProperties, populateMetrics);
+        this.objectReader = objectMapper.readerFor(TYPE_REFERENCE);
+        this.objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
     }
 
     @Override
@@ -48,12 +111,11 @@ public final class JsonFilesImporter extends FilesImporter {
 
     @Nullable
     @Override
-    protected SequencedMap<String, Object> readFile(@NonNull final File file) throws IOException {
-        try (final var reader = Files.newBufferedReader(file.toPath())) {
-            final var typeRef = new TypeReference<LinkedHashMap<String, Object>>() {
-            };
-            return objectMapper.readValue(reader, typeRef);
+    protected SequencedMap<String, Object> readFile(@NonNull final ByteBuffer content) throws IOException {
+        if (content.hasArray()) {
+            return objectReader.readValue(content.array(), content.arrayOffset() + content.position(), content.remaining());
         }
+        return objectReader.readValue(inputStream(content));
     }
 
     @NonNull
@@ -62,6 +124,6 @@ public final class JsonFilesImporter extends FilesImporter {
         if (map == null || map.isEmpty()) {
             return "";
         }
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(map);
+        return objectWriter.writeValueAsString(map);
     }
 }
@@ -0,0 +1,156 @@
+package com.frogdevelopment.consul.populate.files;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SequencedMap;
+import java.util.Set;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Read-only view of the target configurations over the root ones, giving the same entries, in the same order, as
+ * {@link MapHelper#mergeMaps(Map, Map)}, without building the merged tree: the serializers walk the view directly, the
+ * merge being done while the entries are iterated.
+ * <p>
+ * The entries of the root come first, with their overriding value if any, followed by the entries only in the target.
+ * When both values are maps, the value is itself an overlay view of them.
+ * <p>
+ * Both maps must not be modified while the view is in use.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+final class OverlayMap extends AbstractMap<String, Object> implements SequencedMap<String, Object> {
+
+    private final Map<String, Object> root;
+    private final Map<String, Object> override;
+
+    // computed on first use, the maps being unmodified
+    private int size = -1;
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    /**
+     * @param root     Source to be merged
+     * @param override Data use to merge
+     */
+    OverlayMap(@NonNull final Map<String, Object> root, @NonNull final Map<String, Object> override) {
+        this.root = root;
+        this.override = override;
+    }
+
+    @Override
+    public int size() {
+        if (size < 0) {
+            var count = root.size();
+            for (final var key : override.keySet()) {
+                if (!root.containsKey(key)) {
+                    count++;
+                }
+            }
+            size = count;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.isEmpty() && override.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return root.containsKey(key) || override.containsKey(key);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (override.containsKey(key)) {
+            return overlay(root.get(key), override.get(key));
+        }
+        return root.get(key);
+    }
+
+    @NonNull
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return OverlayMap.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Not used by the serializers: the reversed map is a merged copy.
+     */
+    @NonNull
+    @Override
+    public SequencedMap<String, Object> reversed() {
+        return Collections.unmodifiableSequencedMap(MapHelper.mergeMaps(root, override).reversed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object overlay(final Object rootValue, final Object overridingValue) {
+        if (rootValue instanceof final Map<?, ?> rootAsMap && overridingValue instanceof final Map<?, ?> overrideAsMap) {
+            return new OverlayMap((Map<String, Object>) rootAsMap, (Map<String, Object>) overrideAsMap);
+        }
+        return overridingValue;
+    }
+
+    /**
+     * Walks the root entries, overridden if needed, then the target entries absent from the root
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private final Iterator<Map.Entry<String, Object>> rootEntries = root.entrySet().iterator();
+        private final Iterator<Map.Entry<String, Object>> overrideEntries = override.entrySet().iterator();
+        private Map.Entry<String, Object> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (rootEntries.hasNext()) {
+                final var entry = rootEntries.next();
+                final var key = entry.getKey();
+                final var value = override.containsKey(key)
+                        ? overlay(entry.getValue(), override.get(key))
+                        : entry.getValue();
+                next = new SimpleImmutableEntry<>(key, value);
+                return true;
+            }
+            while (overrideEntries.hasNext()) {
+                final var entry = overrideEntries.next();
+                if (!root.containsKey(entry.getKey())) {
+                    next = new SimpleImmutableEntry<>(entry);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final var entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.frogdevelopment.consul.populate.files;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -11,6 +12,8 @@ import java.util.Properties;
 import java.util.SequencedMap;
 import java.util.stream.Collectors;
 
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 
@@ -35,6 +38,52 @@ public final class PropertiesFilesImporter extends FilesImporter {
         super(rootPath, targetPath);
     }
 
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @since 1.3.0
+     */
+    public PropertiesFilesImporter(final Path rootPath, final Path targetPath, final ImportFileProperties importFileProperties) {
+        super(rootPath, targetPath, importFileProperties);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     */
+    public PropertiesFilesImporter(final Path rootPath,
+                                   final Path targetPath,
+                                   final ImportFileProperties importFileProperties,
+                                   final PopulateMetrics populateMetrics) {
+        super(rootPath, targetPath, importFileProperties, populateMetrics);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filesSource          Source from which the files are read
+     * @param rootPath             Path to root directory, within the source
+     * @param targetPath           Subdirectory used to override root configurations, within the source
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     */
+    public PropertiesFilesImporter(final FilesSource filesSource,
+                                   final Path rootPath,
+                                   final Path targetPath,
+                                   final ImportFileProperties importFileProperties,
+                                   final PopulateMetrics populateMetrics) {
+        super(filesSource, rootPath, targetPath, importFileProperties, populateMetrics);
+    }
+
     @Override
     protected boolean isExtensionAccepted(@NonNull final String extension) {
         return EXTENSIONS.contains(extension.toLowerCase());
@@ -42,8 +91,8 @@ public final class PropertiesFilesImporter extends FilesImporter {
 
     @Nullable
     @Override
-    protected SequencedMap<String, Object> readFile(@NonNull final File file) throws IOException {
-        try (final var reader = Files.newBufferedReader(file.toPath())) {
+    protected SequencedMap<String, Object> readFile(@NonNull final ByteBuffer content) throws IOException {
+        try (final var reader = new InputStreamReader(inputStream(content), StandardCharsets.UTF_8)) {
             final var properties = new Properties();
             properties.load(reader);
             return properties.entrySet()
@@ -1,30 +1,56 @@
 package com.frogdevelopment.consul.populate.files;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SequencedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
 
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.files.ImportFileProperties.YamlEngine;
 
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 
 /**
  * Implementation for YAML files import
+ * <p>
+ * The files are read and written with SnakeYAML, or with Jackson when {@code consul.files.yaml-engine} is
+ * {@link YamlEngine#JACKSON JACKSON}.
  *
  * @author Le Gall Benoît
  * @see Yaml
+ * @see YAMLMapper
  * @since 1.0.0
  */
 public final class YamlFilesImporter extends FilesImporter {
 
     private static final List<String> EXTENSIONS = List.of("yaml", "yml");
 
-    private final Yaml yaml = new Yaml();
+    // only read by SnakeYAML, so shared by all the Yaml instances
+    private static final LoaderOptions LOADER_OPTIONS = new LoaderOptions();
+    private static final DumperOptions DUMPER_OPTIONS = new DumperOptions();
+
+    private final YamlEngine yamlEngine;
+    // Yaml is not thread-safe and files are read concurrently, by threads created for each import: the instances are
+    // pooled, up to one for each file parsed at once, to be reused by the next imports
+    private final BlockingQueue<Yaml> yamlPool;
 
     /**
      * Constructor
@@ -33,7 +59,56 @@ public final class YamlFilesImporter extends FilesImporter {
      * @param targetPath Subdirectory used to override root configurations
      **/
     public YamlFilesImporter(final Path rootPath, final Path targetPath) {
-        super(rootPath, targetPath);
+        this(rootPath, targetPath, new ImportFileProperties());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @since 1.3.0
+     **/
+    public YamlFilesImporter(final Path rootPath, final Path targetPath, final ImportFileProperties importFileProperties) {
+        this(rootPath, targetPath, importFileProperties, unregisteredMetrics());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rootPath             Path to root directory
+     * @param targetPath           Subdirectory used to override root configurations
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     **/
+    public YamlFilesImporter(final Path rootPath,
+                             final Path targetPath,
+                             final ImportFileProperties importFileProperties,
+                             final PopulateMetrics populateMetrics) {
+        this(FilesSource.fileSystem(importFileProperties.getMmapThreshold()), rootPath, targetPath, importFileProperties,
+                populateMetrics);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filesSource          Source from which the files are read
+     * @param rootPath             Path to root directory, within the source
+     * @param targetPath           Subdirectory used to override root configurations, within the source
+     * @param importFileProperties Properties used to tune the import
+     * @param populateMetrics      Metrics recording the duration of the import phases
+     * @since 1.3.0
+     **/
+    public YamlFilesImporter(final FilesSource filesSource,
+                             final Path rootPath,
+                             final Path targetPath,
+                             final ImportFileProperties importFileProperties,
+                             final PopulateMetrics populateMetrics) {
+        super(filesSource, rootPath, targetPath, importFileProperties, populateMetrics);
+        this.yamlEngine = importFileProperties.getYamlEngine();
+        this.yamlPool = new ArrayBlockingQueue<>(importFileProperties.getParallelism());
     }
 
     @Override
@@ -43,18 +118,69 @@ public final class YamlFilesImporter extends FilesImporter {
 
     @Nullable
     @Override
-    protected SequencedMap<String, Object> readFile(@NonNull final File file) throws IOException {
-        try (final var reader = Files.newBufferedReader(file.toPath())) {
-            return yaml.load(reader);
-        }
+    protected SequencedMap<String, Object> readFile(@NonNull final ByteBuffer content) throws IOException {
+        return switch (yamlEngine) {
+            // decoded while parsed, as UTF-8 unless the content starts with a UTF-16 BOM
+            case SNAKEYAML -> withYaml(yaml -> yaml.load(inputStream(content)));
+            case JACKSON -> JacksonEngine.read(content);
+        };
     }
 
     @NonNull
     @Override
-    protected String writeValueAsString(@NonNull final Map<String, Object> map) {
+    protected String writeValueAsString(@NonNull final Map<String, Object> map) throws IOException {
         if (map == null || map.isEmpty()) {
             return "";
         }
-        return yaml.dumpAsMap(map);
+        return switch (yamlEngine) {
+            case SNAKEYAML -> withYaml(yaml -> yaml.dumpAsMap(map));
+            case JACKSON -> JacksonEngine.WRITER.writeValueAsString(map);
+        };
+    }
+
+    private <T> T withYaml(final Function<Yaml, T> function) {
+        var yaml = yamlPool.poll();
+        if (yaml == null) {
+            yaml = new Yaml(new Constructor(LOADER_OPTIONS), new Representer(DUMPER_OPTIONS), DUMPER_OPTIONS, LOADER_OPTIONS);
+        }
+        try {
+            return function.apply(yaml);
+        } finally {
+            // dropped when the pool is full
+            yamlPool.offer(yaml);
+        }
+    }
+
+    /**
+     * Jackson reader and writer, thread-safe and built once, only loaded when the Jackson engine is used
+     */
+    private static final class JacksonEngine {
+
+        private static final YAMLMapper YAML_MAPPER = YAMLMapper.builder()
+                // as SnakeYAML dumpAsMap, so that the values in Consul do not change with the engine
+                .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+                .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
+                .enable(YAMLGenerator.Feature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS)
+                .enable(YAMLGenerator.Feature.LITERAL_BLOCK_STYLE)
+                .build();
+        private static final ObjectReader READER = YAML_MAPPER.readerFor(new TypeReference<LinkedHashMap<String, Object>>() {
+        });
+        private static final ObjectWriter WRITER = YAML_MAPPER.writer();
+
+        private JacksonEngine() {
+        }
+
+        @Nullable
+        private static SequencedMap<String, Object> read(final ByteBuffer content) throws IOException {
+            try (final var parser = content.hasArray()
+                    ? READER.createParser(content.array(), content.arrayOffset() + content.position(), content.remaining())
+                    : READER.createParser(inputStream(content))) {
+                // a document without content, like comments only, is empty as with SnakeYAML
+                if (parser.nextToken() == null) {
+                    return null;
+                }
+                return READER.readValue(parser);
+            }
+        }
     }
 }
@@ -0,0 +1,122 @@
+package com.frogdevelopment.consul.populate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.KeyValueList;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnKVVerb;
+
+class KvDiffTest {
+
+    private static KeyValue keyValue(final String key, final String value, final long modifyIndex) {
+        return new KeyValue()
+                .setKey(key)
+                .setValue(value)
+                .setModifyIndex(modifyIndex);
+    }
+
+    @Test
+    void should_computeOnlyNeededOperations() {
+        // given
+        var configsToImport = Map.of(
+                "config/unchanged", "same",
+                "config/updated", "new value",
+                "config/created", "created");
+        var existing = new KeyValueList().setList(List.of(
+                keyValue("config/unchanged", "same", 10),
+                keyValue("config/updated", "old value", 11),
+                keyValue("config/deleted", "deleted", 12)));
+
+        // when
+        var changes = KvDiff.compute(configsToImport, existing);
+
+        // then
+        assertThat(changes.created()).isEqualTo(1);
+        assertThat(changes.updated()).isEqualTo(1);
+        assertThat(changes.deleted()).isEqualTo(1);
+        assertThat(changes.unchanged()).isEqualTo(1);
+        assertThat(changes.operations())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getValue, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactlyInAnyOrder(
+                        tuple("config/updated", "new value", TxnKVVerb.CAS, 11L),
+                        tuple("config/created", "created", TxnKVVerb.CAS, 0L),
+                        tuple("config/deleted", null, TxnKVVerb.DELETE_CAS, 12L));
+    }
+
+    @Test
+    void should_beEmpty_when_nothingChanged() {
+        // given
+        var configsToImport = Map.of("config/application", "foo: bar");
+        var existing = new KeyValueList().setList(List.of(keyValue("config/application", "foo: bar", 1)));
+
+        // when
+        var changes = KvDiff.compute(configsToImport, existing);
+
+        // then
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(changes.unchanged()).isEqualTo(1);
+    }
+
+    @Test
+    void should_createAll_when_nothingExists() {
+        // given
+        var configsToImport = Map.of(
+                "config/application", "foo: bar",
+                "config/service", "bar: foo");
+
+        // when
+        var changes = KvDiff.compute(configsToImport, new KeyValueList());
+
+        // then
+        assertThat(changes.created()).isEqualTo(2);
+        assertThat(changes.operations())
+                .extracting(TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsOnly(tuple(TxnKVVerb.CAS, 0L));
+    }
+
+    @Test
+    void should_handleNullExisting() {
+        // when
+        var changes = KvDiff.compute(Map.of("config/application", "foo: bar"), (KeyValueList) null);
+
+        // then
+        assertThat(changes.created()).isEqualTo(1);
+    }
+
+    @Test
+    void should_computeOperationsLazily_fromStream() {
+        // given
+        var configsToImport = Map.of(
+                "config/unchanged", "same",
+                "config/updated", "new value",
+                "config/created", "created");
+        var existing = KvDiff.ExistingValue.of(List.of(
+                keyValue("config/unchanged", "same", 10),
+                keyValue("config/updated", "old value", 11),
+                keyValue("config/deleted", "deleted", 12)));
+        var counters = new KvDiff.Counters();
+
+        // when
+        var operations = KvDiff.compute(configsToImport.entrySet().stream(), existing, counters);
+
+        // then
+        assertThat(counters.getCreated()).isZero();
+        assertThat(operations.toList())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getValue, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactlyInAnyOrder(
+                        tuple("config/updated", "new value", TxnKVVerb.CAS, 11L),
+                        tuple("config/created", "created", TxnKVVerb.CAS, 0L),
+                        tuple("config/deleted", null, TxnKVVerb.DELETE_CAS, 12L));
+        assertThat(counters.getCreated()).isEqualTo(1);
+        assertThat(counters.getUpdated()).isEqualTo(1);
+        assertThat(counters.getDeleted()).isEqualTo(1);
+        assertThat(counters.getUnchanged()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,530 @@
+package com.frogdevelopment.consul.populate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frogdevelopment.consul.populate.config.GlobalProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.KeyValueList;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnKVVerb;
+import io.vertx.ext.consul.TxnResponse;
+
+@ExtendWith(MockitoExtension.class)
+class PopulateServiceImplTest {
+
+    @Mock
+    private ConsulClient consulClient;
+    @Mock
+    private DataImporter dataImporter;
+    @Mock
+    private TxnBatchWriter txnBatchWriter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Vertx vertx = Vertx.vertx();
+    private final List<List<TxnKVOperation>> sentOperations = Collections.synchronizedList(new ArrayList<>());
+
+    private GlobalProperties globalProperties;
+    private PopulateServiceImpl populateService;
+
+    @BeforeEach
+    void beforeEach() {
+        globalProperties = new GlobalProperties();
+        globalProperties.getKv().setManifestEnabled(false);
+        populateService = new PopulateServiceImpl(consulClient, vertx, globalProperties, dataImporter, txnBatchWriter, objectMapper,
+                new PopulateMetrics(meterRegistry));
+
+        given(consulClient.leaderStatus()).willReturn(Future.succeededFuture("leader"));
+    }
+
+    @AfterEach
+    void afterEach() {
+        vertx.close();
+    }
+
+    private void givenExistingValues(final KeyValue... keyValues) {
+        given(consulClient.getValues("config/")).willReturn(Future.succeededFuture(new KeyValueList()
+                .setList(List.of(keyValues))));
+    }
+
+    private static KeyValue concurrentApplication() {
+        return new KeyValue()
+                .setKey("config/application")
+                .setValue("concurrent value")
+                .setModifyIndex(7);
+    }
+
+    private static KeyValue application() {
+        return new KeyValue()
+                .setKey("config/application")
+                .setValue("old value")
+                .setModifyIndex(5);
+    }
+
+    private void givenImportedConfigs(final Map<String, String> configs) {
+        given(dataImporter.stream()).willAnswer(invocation -> configs.entrySet().stream());
+    }
+
+    private List<TxnKVOperation> send(final Iterator<TxnKVOperation> operations) {
+        var sent = new ArrayList<TxnKVOperation>();
+        operations.forEachRemaining(sent::add);
+        sentOperations.add(sent);
+        return sent;
+    }
+
+    private Future<List<TxnBatchWriter.BatchResult>> succeeded(final Iterator<TxnKVOperation> operations) {
+        return Future.succeededFuture(List.of(new TxnBatchWriter.BatchResult(0, send(operations), new TxnResponse(), null)));
+    }
+
+    private Future<List<TxnBatchWriter.BatchResult>> conflicted(final Iterator<TxnKVOperation> operations) {
+        return Future.succeededFuture(List.of(new TxnBatchWriter.BatchResult(0, send(operations), null, new IllegalStateException("conflict"))));
+    }
+
+    @Test
+    void should_writeWithCas() {
+        // given
+        givenImportedConfigs(Map.of("application", "new value"));
+        givenExistingValues(application());
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate();
+
+        // then
+        assertThat(sentOperations).hasSize(1);
+        assertThat(sentOperations.getFirst())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactly(tuple("config/application", TxnKVVerb.CAS, 5L));
+    }
+
+    @Test
+    void should_deleteStaleManifest_when_manifestDisabled() {
+        // given
+        givenImportedConfigs(Map.of("application", "old value"));
+        givenExistingValues(application(), new KeyValue()
+                .setKey("config/.populate-manifest")
+                .setValue("{}")
+                .setModifyIndex(3));
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate();
+
+        // then
+        assertThat(sentOperations.getFirst())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactly(tuple("config/.populate-manifest", TxnKVVerb.DELETE_CAS, 3L));
+    }
+
+    @Test
+    void should_populateAsynchronously_withImportOnWorkerThread() throws Exception {
+        // given
+        var importThread = new AtomicReference<Thread>();
+        given(dataImporter.stream()).willAnswer(invocation -> {
+            importThread.set(Thread.currentThread());
+            return Map.of("application", "new value").entrySet().stream();
+        });
+        givenExistingValues(application());
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        var populate = populateService.populateAsync();
+
+        // then
+        populate.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(importThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(importThread.get().getName()).startsWith("vert.x-worker-thread");
+        assertThat(sentOperations.getFirst())
+                .extracting(TxnKVOperation::getKey)
+                .containsExactly("config/application");
+    }
+
+    @Test
+    void should_readExistingValues_whileImporting() {
+        // given
+        var existingValuesRead = new CountDownLatch(1);
+        given(dataImporter.stream()).willAnswer(invocation -> {
+            // the import only completes once Consul has been read
+            if (!existingValuesRead.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Existing values not read while importing");
+            }
+            return Map.of("application", "new value").entrySet().stream();
+        });
+        given(consulClient.getValues("config/")).willAnswer(invocation -> {
+            existingValuesRead.countDown();
+            return Future.succeededFuture(new KeyValueList().setList(List.of(application())));
+        });
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate();
+
+        // then
+        assertThat(sentOperations.getFirst())
+                .extracting(TxnKVOperation::getKey)
+                .containsExactly("config/application");
+    }
+
+    @Test
+    void should_retryConflictedKeys_withRefreshedIndex() {
+        // given
+        givenImportedConfigs(Map.of("application", "new value"));
+        given(consulClient.getValues("config/")).willReturn(
+                Future.succeededFuture(new KeyValueList().setList(List.of(application()))),
+                Future.succeededFuture(new KeyValueList().setList(List.of(concurrentApplication(), new KeyValue()
+                        .setKey("config/orders")
+                        .setValue("orders value")
+                        .setModifyIndex(6)))));
+        given(txnBatchWriter.write(any()))
+                .willAnswer(invocation -> conflicted(invocation.getArgument(0)))
+                .willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+        given(dataImporter.execute(Set.of("application"))).willReturn(Map.of("application", "new value"));
+
+        // when
+        populateService.populate();
+
+        // then
+        then(consulClient).should(never()).getValue(any());
+        assertThat(sentOperations).hasSize(2);
+        assertThat(sentOperations.get(1))
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactly(tuple("config/application", TxnKVVerb.CAS, 7L));
+    }
+
+    @Test
+    void should_stopRetrying_when_maxRetriesReached() {
+        // given
+        givenImportedConfigs(Map.of("application", "new value"));
+        given(consulClient.getValues("config/")).willReturn(
+                Future.succeededFuture(new KeyValueList().setList(List.of(application()))),
+                Future.succeededFuture(new KeyValueList().setList(List.of(concurrentApplication()))));
+        globalProperties.getTxn().setMaxRetries(2);
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> conflicted(invocation.getArgument(0)));
+        given(dataImporter.execute(Set.of("application"))).willReturn(Map.of("application", "new value"));
+
+        // when
+        var caught = catchThrowable(() -> populateService.populate());
+
+        // then
+        assertThat(caught)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Some keys could not be populated");
+        then(txnBatchWriter).should(times(3)).write(any());
+    }
+
+    @Test
+    void should_recordMetrics() {
+        // given
+        givenImportedConfigs(Map.of("application", "new value", "orders", "orders value"));
+        givenExistingValues(application(), new KeyValue()
+                .setKey("config/orders")
+                .setValue("orders value")
+                .setModifyIndex(6));
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate();
+
+        // then
+        assertThat(meterRegistry.get(PopulateMetrics.KEYS).tag("operation", "set").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PopulateMetrics.KEYS).tag("operation", "unchanged").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PopulateMetrics.KEYS).tag("operation", "errored").counter().count()).isZero();
+        assertThat(meterRegistry.get(PopulateMetrics.PAYLOAD).gauge().value()).isPositive();
+        assertThat(meterRegistry.get(PopulateMetrics.PHASE).tag("phase", "txn").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PopulateMetrics.POPULATE).tags("type", "full", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_notWrite_when_nothingChanged() {
+        // given
+        givenImportedConfigs(Map.of("application", "old value"));
+        givenExistingValues(application());
+
+        // when
+        populateService.populate();
+
+        // then
+        then(txnBatchWriter).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void should_writeOnlyGivenKeys() {
+        // given
+        given(dataImporter.execute(Set.of("application", "removed"))).willReturn(Map.of("application", "new value"));
+        givenExistingValues(application(),
+                new KeyValue()
+                        .setKey("config/removed")
+                        .setValue("removed value")
+                        .setModifyIndex(6),
+                new KeyValue()
+                        .setKey("config/orders")
+                        .setValue("orders value")
+                        .setModifyIndex(7));
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate(Set.of("application", "removed"));
+
+        // then
+        then(consulClient).should(never()).getValue(any());
+        assertThat(sentOperations).hasSize(1);
+        assertThat(sentOperations.getFirst())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactlyInAnyOrder(
+                        tuple("config/application", TxnKVVerb.CAS, 5L),
+                        tuple("config/removed", TxnKVVerb.DELETE_CAS, 6L));
+    }
+
+    @Test
+    void should_updateManifest_when_populatingGivenKeys() throws JsonProcessingException {
+        // given
+        globalProperties.getKv().setManifestEnabled(true);
+        var stored = PopulateManifest.of(Map.of("application", "old value", "orders", "orders value"));
+        given(dataImporter.execute(Set.of("application"))).willReturn(Map.of("application", "new value"));
+        givenExistingValues(application());
+        given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()
+                .setKey("config/.populate-manifest")
+                .setValue(objectMapper.writeValueAsString(stored))));
+        given(consulClient.deleteValue("config/.populate-manifest")).willReturn(Future.succeededFuture());
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+        given(consulClient.putValue(eq("config/.populate-manifest"), any())).willReturn(Future.succeededFuture(true));
+
+        // when
+        populateService.populate(Set.of("application"));
+
+        // then
+        var expected = PopulateManifest.of(Map.of("application", "new value", "orders", "orders value"));
+        then(consulClient).should().putValue("config/.populate-manifest", objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    void should_writeEachTarget_toItsOwnKvPath() {
+        // given
+        globalProperties.getKv().setVersion(Optional.of("dev"));
+        given(dataImporter.targets()).willReturn(List.of(
+                new DataImporter.Target("dev", Optional.empty(), Optional.empty()),
+                new DataImporter.Target("prod", Optional.empty(), Optional.of("prod"))));
+        given(dataImporter.executeTargets()).willReturn(Map.of(
+                "dev", Map.of("application", "dev value"),
+                "prod", Map.of("application", "prod value")));
+        given(consulClient.getValues("config/dev/")).willReturn(Future.succeededFuture(new KeyValueList()));
+        given(consulClient.getValues("config/prod/")).willReturn(Future.succeededFuture(new KeyValueList()
+                .setList(List.of(new KeyValue()
+                        .setKey("config/prod/application")
+                        .setValue("prod value")
+                        .setModifyIndex(5)))));
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate();
+
+        // then
+        then(dataImporter).should(never()).stream();
+        assertThat(sentOperations.stream().flatMap(List::stream).toList())
+                .extracting(TxnKVOperation::getKey, TxnKVOperation::getType, TxnKVOperation::getIndex)
+                .containsExactly(tuple("config/dev/application", TxnKVVerb.CAS, 0L));
+    }
+
+    @Test
+    void should_populateAllTargets_when_populatingGivenKeys() {
+        // given
+        given(dataImporter.targets()).willReturn(List.of(
+                new DataImporter.Target("dev", Optional.of("config-dev"), Optional.empty()),
+                new DataImporter.Target("prod", Optional.of("config-prod"), Optional.empty())));
+        given(dataImporter.executeTargets()).willReturn(Map.of(
+                "dev", Map.of("application", "dev value"),
+                "prod", Map.of("application", "prod value")));
+        given(consulClient.getValues("config-dev/")).willReturn(Future.succeededFuture(new KeyValueList()));
+        given(consulClient.getValues("config-prod/")).willReturn(Future.succeededFuture(new KeyValueList()));
+        given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // when
+        populateService.populate(Set.of("application"));
+
+        // then
+        then(dataImporter).should(never()).execute(Set.of("application"));
+        assertThat(sentOperations.stream().flatMap(List::stream).toList())
+                .extracting(TxnKVOperation::getKey)
+                .containsExactlyInAnyOrder("config-dev/application", "config-prod/application");
+    }
+
+    @Test
+    void should_fail_when_targetsKvPathsAreNested() {
+        // given
+        given(dataImporter.targets()).willReturn(List.of(
+                new DataImporter.Target("dev", Optional.empty(), Optional.empty()),
+                new DataImporter.Target("prod", Optional.empty(), Optional.of("prod"))));
+
+        // when
+        var caught = catchThrowable(() -> populateService.populate());
+
+        // then
+        assertThat(caught)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Each target must be written to its own KV path");
+        then(dataImporter).should(never()).executeTargets();
+        then(txnBatchWriter).shouldHaveNoInteractions();
+    }
+
+    @Nested
+    class WithManifest {
+
+        private final PopulateManifest manifest = PopulateManifest.of(Map.of("application", "new value"));
+
+        @BeforeEach
+        void beforeEach() {
+            globalProperties.getKv().setManifestEnabled(true);
+            given(dataImporter.execute()).willReturn(Map.of("application", "new value"));
+        }
+
+        @Test
+        void should_skipEverything_when_manifestUnchanged() throws JsonProcessingException {
+            // given
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()
+                    .setKey("config/.populate-manifest")
+                    .setValue(objectMapper.writeValueAsString(manifest))));
+
+            // when
+            populateService.populate();
+
+            // then
+            then(consulClient).should(never()).getValues(any());
+            then(txnBatchWriter).shouldHaveNoInteractions();
+        }
+
+        @Test
+        void should_readContentWhileImporting_when_prefetch() throws JsonProcessingException {
+            // given
+            globalProperties.getKv().setPrefetch(true);
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()
+                    .setKey("config/.populate-manifest")
+                    .setValue(objectMapper.writeValueAsString(manifest))));
+            givenExistingValues(application());
+
+            // when
+            populateService.populate();
+
+            // then
+            then(consulClient).should().getValues("config/");
+            then(txnBatchWriter).shouldHaveNoInteractions();
+        }
+
+        @Test
+        void should_writeChangesThenManifest_when_manifestChanged() throws JsonProcessingException {
+            // given
+            var stored = PopulateManifest.of(Map.of("application", "old value"));
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()
+                    .setKey("config/.populate-manifest")
+                    .setValue(objectMapper.writeValueAsString(stored))));
+            givenExistingValues(application(), new KeyValue().setKey("config/.populate-manifest").setModifyIndex(3));
+            given(consulClient.deleteValue("config/.populate-manifest")).willReturn(Future.succeededFuture());
+            given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+            given(consulClient.putValue(eq("config/.populate-manifest"), any())).willReturn(Future.succeededFuture(true));
+
+            // when
+            populateService.populate();
+
+            // then
+            var inOrder = inOrder(consulClient, txnBatchWriter);
+            inOrder.verify(consulClient).deleteValue("config/.populate-manifest");
+            inOrder.verify(txnBatchWriter).write(any());
+            inOrder.verify(consulClient).putValue("config/.populate-manifest", objectMapper.writeValueAsString(manifest));
+            assertThat(sentOperations.getFirst())
+                    .extracting(TxnKVOperation::getKey)
+                    .containsExactly("config/application");
+            // the manifest and the write come from the same import
+            then(dataImporter).should().execute();
+            then(dataImporter).should(never()).stream();
+        }
+
+        @Test
+        void should_notStoreManifest_when_tooLarge() {
+            // given
+            var configs = new HashMap<String, String>();
+            for (var i = 0; i < 10_000; i++) {
+                configs.put("service-" + i, "value");
+            }
+            given(dataImporter.execute()).willReturn(configs);
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()));
+            givenExistingValues();
+            given(consulClient.deleteValue("config/.populate-manifest")).willReturn(Future.succeededFuture());
+            given(txnBatchWriter.write(any())).willAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+            // when
+            populateService.populate();
+
+            // then
+            then(consulClient).should(never()).putValue(any(), any());
+            then(consulClient).should(times(2)).deleteValue("config/.populate-manifest");
+            assertThat(sentOperations.getFirst()).hasSize(10_000);
+        }
+
+        @Test
+        void should_notWriteManifest_when_transactionFailed() {
+            // given
+            globalProperties.getTxn().setMaxRetries(0);
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()));
+            givenExistingValues(application());
+            given(consulClient.deleteValue("config/.populate-manifest")).willReturn(Future.succeededFuture());
+            given(txnBatchWriter.write(any())).willAnswer(invocation -> conflicted(invocation.getArgument(0)));
+
+            // when
+            var caught = catchThrowable(() -> populateService.populate());
+
+            // then
+            assertThat(caught).isInstanceOf(IllegalStateException.class);
+            then(consulClient).should(never()).putValue(any(), any());
+        }
+
+        @Test
+        void should_onlyWriteManifest_when_consulAlreadyUpToDate() throws JsonProcessingException {
+            // given
+            given(consulClient.getValue("config/.populate-manifest")).willReturn(Future.succeededFuture(new KeyValue()));
+            givenExistingValues(new KeyValue().setKey("config/application").setValue("new value").setModifyIndex(5));
+            given(consulClient.putValue(eq("config/.populate-manifest"), any())).willReturn(Future.succeededFuture(true));
+
+            // when
+            populateService.populate();
+
+            // then
+            then(txnBatchWriter).shouldHaveNoInteractions();
+            then(consulClient).should().putValue("config/.populate-manifest", objectMapper.writeValueAsString(manifest));
+        }
+    }
+}
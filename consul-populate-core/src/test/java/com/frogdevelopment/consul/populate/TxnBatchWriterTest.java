@@ -0,0 +1,302 @@
+package com.frogdevelopment.consul.populate;
+
+import static com.frogdevelopment.consul.populate.VertxUtils.toBlocking;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.frogdevelopment.consul.populate.config.GlobalProperties;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.TxnKVOperation;
+import io.vertx.ext.consul.TxnKVVerb;
+import io.vertx.ext.consul.TxnRequest;
+import io.vertx.ext.consul.TxnResponse;
+
+@ExtendWith(MockitoExtension.class)
+class TxnBatchWriterTest {
+
+    @Mock
+    private ConsulClient consulClient;
+    @Mock
+    private Vertx vertx;
+
+    @Captor
+    private ArgumentCaptor<TxnRequest> txnRequestCaptor;
+
+    private GlobalProperties globalProperties;
+    private TxnBatchWriter txnBatchWriter;
+
+    @BeforeEach
+    void beforeEach() {
+        globalProperties = new GlobalProperties();
+        txnBatchWriter = new TxnBatchWriter(consulClient, vertx, globalProperties);
+    }
+
+    /**
+     * Run the blocking code synchronously, so that the batches are sent before {@code write} returns
+     */
+    private void givenBlockingCodeRunSynchronously() {
+        given(vertx.executeBlocking(any(), eq(false))).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call());
+            } catch (final Exception e) {
+                return Future.failedFuture(e);
+            }
+        });
+    }
+
+    private static List<TxnKVOperation> operations(final int count, final String value) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TxnKVOperation()
+                        .setKey("config/key-" + i)
+                        .setValue(value)
+                        .setType(TxnKVVerb.SET))
+                .toList();
+    }
+
+    @Test
+    void should_splitOnMaxOperations() {
+        // given
+        globalProperties.getTxn().setMaxOperations(64);
+
+        // when
+        var batches = txnBatchWriter.split(operations(150, "value"));
+
+        // then
+        assertThat(batches)
+                .extracting(List::size)
+                .containsExactly(64, 64, 22);
+    }
+
+    @Test
+    void should_splitOnMaxPayloadSize() {
+        // given
+        var value = "a".repeat(3000); // 4000 bytes once base64 encoded
+        globalProperties.getTxn().setMaxPayloadSize(10_000);
+
+        // when
+        var batches = txnBatchWriter.split(operations(5, value));
+
+        // then
+        assertThat(batches)
+                .extracting(List::size)
+                .containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void should_sendOversizedOperationAlone() {
+        // given
+        globalProperties.getTxn().setMaxPayloadSize(100);
+
+        // when
+        var batches = txnBatchWriter.split(operations(3, "a".repeat(500)));
+
+        // then
+        assertThat(batches)
+                .extracting(List::size)
+                .containsExactly(1, 1, 1);
+    }
+
+    @Test
+    void should_estimateSize_withMultiBytesCharacters() {
+        // given
+        var operation = new TxnKVOperation()
+                .setKey("key")
+                .setValue("é€");
+
+        // when
+        var size = TxnBatchWriter.estimateSize(operation);
+
+        // then
+        // 5 bytes in UTF-8 => 8 bytes in base64
+        assertThat(size).isEqualTo(TxnBatchWriter.OPERATION_OVERHEAD + 3 + 8);
+    }
+
+    @Test
+    void should_returnEmptyResults_when_noOperation() {
+        // given
+        givenBlockingCodeRunSynchronously();
+
+        // when
+        var results = toBlocking(txnBatchWriter.write(Collections.emptyIterator()));
+
+        // then
+        assertThat(results).isEmpty();
+        then(consulClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void should_sendAllBatches_and_reportEachResult() {
+        // given
+        givenBlockingCodeRunSynchronously();
+        globalProperties.getTxn().setMaxOperations(10);
+        given(consulClient.transaction(any())).willReturn(Future.succeededFuture(new TxnResponse()));
+
+        // when
+        var results = toBlocking(txnBatchWriter.write(operations(25, "value").iterator()));
+
+        // then
+        then(consulClient).should(times(3)).transaction(txnRequestCaptor.capture());
+        assertThat(results)
+                .hasSize(3)
+                .allMatch(TxnBatchWriter.BatchResult::isSuccess)
+                .extracting(TxnBatchWriter.BatchResult::index)
+                .containsExactly(0, 1, 2);
+        assertThat(results)
+                .extracting(result -> result.operations().size())
+                .containsExactly(10, 10, 5);
+    }
+
+    @Test
+    void should_reportFailedBatch_withoutStoppingOthers() {
+        // given
+        givenBlockingCodeRunSynchronously();
+        globalProperties.getTxn().setMaxOperations(10);
+        given(consulClient.transaction(any()))
+                .willReturn(Future.succeededFuture(new TxnResponse()))
+                .willReturn(Future.failedFuture(new IllegalStateException("boom")))
+                .willReturn(Future.succeededFuture(new TxnResponse()));
+
+        // when
+        var results = toBlocking(txnBatchWriter.write(operations(25, "value").iterator()));
+
+        // then
+        assertThat(results)
+                .extracting(TxnBatchWriter.BatchResult::isSuccess)
+                .containsExactly(true, false, true);
+        assertThat(results.get(1).failure()).hasMessage("boom");
+    }
+
+    @Test
+    void should_limitInFlightTransactions() {
+        // given
+        givenBlockingCodeRunSynchronously();
+        globalProperties.getTxn().setMaxOperations(1);
+        globalProperties.getTxn().setMaxInFlight(2);
+        var pending = new ArrayList<Promise<TxnResponse>>();
+        given(consulClient.transaction(any())).willAnswer(invocation -> {
+            var promise = Promise.<TxnResponse>promise();
+            pending.add(promise);
+            return promise.future();
+        });
+
+        // when
+        var future = txnBatchWriter.write(operations(5, "value").iterator());
+
+        // then
+        assertThat(pending).hasSize(2);
+
+        // when
+        pending.getFirst().complete(new TxnResponse());
+
+        // then
+        assertThat(pending).hasSize(3);
+        assertThat(future.isComplete()).isFalse();
+
+        // when
+        for (var i = 1; i < 5; i++) {
+            pending.get(i).complete(new TxnResponse());
+        }
+
+        // then
+        assertThat(future.isComplete()).isTrue();
+        assertThat(future.result()).hasSize(5);
+    }
+
+    @Test
+    void should_consumeOperationsLazily() {
+        // given
+        givenBlockingCodeRunSynchronously();
+        globalProperties.getTxn().setMaxOperations(1);
+        globalProperties.getTxn().setMaxInFlight(1);
+        var pending = new ArrayList<Promise<TxnResponse>>();
+        given(consulClient.transaction(any())).willAnswer(invocation -> {
+            var promise = Promise.<TxnResponse>promise();
+            pending.add(promise);
+            return promise.future();
+        });
+        var consumed = new AtomicInteger();
+        var operations = operations(3, "value").stream()
+                .peek(operation -> consumed.incrementAndGet())
+                .iterator();
+
+        // when
+        txnBatchWriter.write(operations);
+
+        // then
+        // the second operation is read to know that it does not fit in the first batch
+        assertThat(consumed).hasValue(2);
+
+        // when
+        pending.getFirst().complete(new TxnResponse());
+
+        // then
+        assertThat(consumed).hasValue(3);
+    }
+
+    @Test
+    void should_fail_when_operationsCanNotBeProduced() {
+        // given
+        givenBlockingCodeRunSynchronously();
+        var operations = Stream.<TxnKVOperation>generate(() -> {
+            throw new IllegalStateException("boom");
+        }).iterator();
+
+        // when
+        var future = txnBatchWriter.write(operations);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).hasMessage("boom");
+        then(consulClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void should_consumeOperationsOnWorkerThread() {
+        // given
+        globalProperties.getTxn().setMaxOperations(1);
+        globalProperties.getTxn().setMaxInFlight(1);
+        var pending = new ArrayList<Promise<Object>>();
+        given(vertx.executeBlocking(any(), eq(false))).willAnswer(invocation -> {
+            var promise = Promise.promise();
+            pending.add(promise);
+            return promise.future();
+        });
+        var consumed = new AtomicInteger();
+        var operations = operations(2, "value").stream()
+                .peek(operation -> consumed.incrementAndGet())
+                .iterator();
+
+        // when
+        var future = txnBatchWriter.write(operations);
+
+        // then
+        assertThat(pending).hasSize(1);
+        assertThat(consumed).hasValue(0);
+        assertThat(future.isComplete()).isFalse();
+        then(consulClient).shouldHaveNoInteractions();
+    }
+}
@@ -68,4 +68,21 @@ class FilesPopulateServiceImplTest extends BaseFilesImporterTest {
         assertThat(kv.getValue()).isEqualTo(YamlFilesImporterTest.EXPECTED);
     }
 
+    @Test
+    void should_notWrite_when_nothingChanged() {
+        // given
+        populateService.populate();
+        var before = toBlocking(consulClient.getValue("config/test/application"));
+
+        // when
+        populateService.populate();
+
+        // then
+        var after = toBlocking(consulClient.getValue("config/test/application"));
+        assertThat(after.getModifyIndex()).isEqualTo(before.getModifyIndex());
+
+        // clean up
+        toBlocking(consulClient.deleteValues("config"));
+    }
+
 }
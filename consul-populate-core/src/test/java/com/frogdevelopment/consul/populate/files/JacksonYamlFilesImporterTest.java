@@ -0,0 +1,84 @@
+package com.frogdevelopment.consul.populate.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import io.micronaut.context.annotation.Property;
+
+@Property(name = "consul.files.format", value = "YAML")
+@Property(name = "consul.files.yaml-engine", value = "JACKSON")
+class JacksonYamlFilesImporterTest extends BaseFilesImporterTest {
+
+    @Inject
+    private YamlFilesImporter filesImporter;
+
+    @Inject
+    private ImportFileProperties importFileProperties;
+
+    private final YamlFilesImporter snakeYamlImporter = new YamlFilesImporter(Path.of("config"), Path.of("config/prod"));
+
+    @Test
+    void should_mergeYaml_asSnakeYaml() {
+        // when
+        final var result = filesImporter.execute();
+
+        // then
+        assertThat(result)
+                .hasSize(1)
+                .containsEntry("application", YamlFilesImporterTest.EXPECTED);
+    }
+
+    @Test
+    void should_readFiles_asSnakeYaml() throws IOException {
+        // given
+        final var rootPath = Path.of(importFileProperties.getRootPath());
+        final var content = Files.readAllBytes(rootPath.resolve("application.yaml"));
+
+        // when
+        final var result = filesImporter.readFile(ByteBuffer.wrap(content));
+
+        // then
+        assertThat(result).isEqualTo(snakeYamlImporter.readFile(ByteBuffer.wrap(content)));
+    }
+
+    @Test
+    void should_writeValues_asSnakeYaml() throws IOException {
+        // given
+        final var nested = new LinkedHashMap<String, Object>();
+        nested.put("enabled", true);
+        nested.put("port", 8080);
+        nested.put("ratio", 0.75);
+        nested.put("hosts", List.of("host-1", "host-2"));
+        final var map = new LinkedHashMap<String, Object>();
+        map.put("name", "my-service");
+        map.put("description", "first line\nsecond line");
+        map.put("server", nested);
+        map.put("empty", List.of());
+
+        // when
+        final var value = filesImporter.writeValueAsString(map);
+
+        // then
+        assertThat(value).isEqualTo(snakeYamlImporter.writeValueAsString(map));
+    }
+
+    @Test
+    void should_handle_emptyDocument() throws IOException {
+        // when
+        final var result = filesImporter.readFile(ByteBuffer.wrap("# comments only\n".getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result).isNull();
+    }
+}
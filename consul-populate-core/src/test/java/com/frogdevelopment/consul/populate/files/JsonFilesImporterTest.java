@@ -2,6 +2,7 @@ package com.frogdevelopment.consul.populate.files;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Path;
 import java.util.TreeMap;
 
 import jakarta.inject.Inject;
@@ -12,6 +13,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.micronaut.context.annotation.Property;
 
@@ -55,6 +57,12 @@ class JsonFilesImporterTest extends BaseFilesImporterTest {
     @Inject
     private JsonFilesImporter filesImporter;
 
+    @Inject
+    private ImportFileProperties importFileProperties;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
     @ParameterizedTest
     @CsvSource({
             "JSON, true",
@@ -81,6 +89,23 @@ class JsonFilesImporterTest extends BaseFilesImporterTest {
                 .containsEntry("application", EXPECTED);
     }
 
+    @Test
+    void should_mergeJson_fromMemoryMappedFiles() {
+        // given
+        final var properties = new ImportFileProperties();
+        properties.setMmapThreshold(1);
+        final var rootPath = Path.of(importFileProperties.getRootPath());
+        final var importer = new JsonFilesImporter(rootPath, rootPath.resolve(importFileProperties.getTarget()), properties, objectMapper);
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        assertThat(result)
+                .hasSize(1)
+                .containsEntry("application", EXPECTED);
+    }
+
     @Test
     void should_handle_empty() throws JsonProcessingException {
         // given
@@ -0,0 +1,86 @@
+package com.frogdevelopment.consul.populate.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class OverlayMapTest {
+
+    private static LinkedHashMap<String, Object> source() {
+        var source = new LinkedHashMap<String, Object>();
+        source.put("save", "me");
+        source.put("string", "hello");
+        source.put("null_value", null);
+        var nestedSource = new LinkedHashMap<String, Object>();
+        nestedSource.put("nested_key", "nested_value");
+        source.put("nested", nestedSource);
+        source.put("case_override_with_map", "azerty");
+        return source;
+    }
+
+    private static LinkedHashMap<String, Object> override() {
+        var override = new LinkedHashMap<String, Object>();
+        override.put("added", "so after all other entries in the merged result");
+        override.put("string", "hello world");
+        override.put("null_value", "not null anymore");
+        var nestedOverride = new LinkedHashMap<String, Object>();
+        nestedOverride.put("nested_key_2", "nested_value_2");
+        override.put("nested", nestedOverride);
+        var override2 = new LinkedHashMap<String, Object>();
+        override2.put("key", "value");
+        override.put("case_override_with_map", override2);
+        return override;
+    }
+
+    @Test
+    void should_giveSameEntries_asMergedMaps() {
+        // given
+        var source = source();
+        var override = override();
+
+        // when
+        var overlay = new OverlayMap(source, override);
+
+        // then
+        var expectedMerged = MapHelper.mergeMaps(source, override);
+        assertThat(overlay)
+                .hasSize(expectedMerged.size())
+                .containsExactlyEntriesOf(expectedMerged)
+                .isEqualTo(expectedMerged);
+        assertThat(overlay.get("nested")).isInstanceOf(OverlayMap.class);
+        assertThat(overlay.firstEntry()).isEqualTo(Map.entry("save", "me"));
+        assertThat(overlay.reversed().firstEntry()).isEqualTo(Map.entry("added", "so after all other entries in the merged result"));
+        assertThat(overlay.containsKey("added")).isTrue();
+        assertThat(overlay.get("unknown")).isNull();
+    }
+
+    @Test
+    void should_beReadOnly() {
+        // given
+        var source = source();
+        var overlay = new OverlayMap(source, override());
+
+        // when/then
+        assertThatThrownBy(() -> overlay.put("string", "changed")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> overlay.entrySet().iterator().next().setValue("changed"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(source).containsEntry("string", "hello");
+    }
+
+    @Test
+    void should_serialize_withoutMergedTree() throws Exception {
+        // given
+        var importer = new YamlFilesImporter(Path.of("config"), Path.of("config/prod"));
+
+        // when
+        var serialized = importer.writeValueAsString(new OverlayMap(source(), override()));
+
+        // then
+        assertThat(serialized).isEqualTo(importer.writeValueAsString(MapHelper.mergeMaps(source(), override())));
+    }
+}
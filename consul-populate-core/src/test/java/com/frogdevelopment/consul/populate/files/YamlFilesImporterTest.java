@@ -1,16 +1,41 @@
 package com.frogdevelopment.consul.populate.files;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.inject.Inject;
 
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.yaml.snakeyaml.error.YAMLException;
 
+import com.frogdevelopment.consul.populate.DataImporter;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micronaut.context.annotation.Property;
 
 @Property(name = "consul.files.format", value = "YAML")
@@ -74,7 +99,7 @@ class YamlFilesImporterTest extends BaseFilesImporterTest {
     }
 
     @Test
-    void should_handle_empty() {
+    void should_handle_empty() throws IOException {
         // given
         // when
         final var value = filesImporter.writeValueAsString(new TreeMap<>());
@@ -82,4 +107,322 @@ class YamlFilesImporterTest extends BaseFilesImporterTest {
         // then
         assertThat(value).isBlank();
     }
+
+    @Test
+    void should_readFilesConcurrently(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        for (var i = 0; i < 200; i++) {
+            Files.writeString(rootPath.resolve("service-" + i + ".yaml"), "name: service-" + i + "\nenv: root\n");
+            Files.writeString(targetPath.resolve("service-" + i + ".yaml"), "env: prod\n");
+        }
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setParallelism(4);
+        var importer = new YamlFilesImporter(rootPath, targetPath, importFileProperties);
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        assertThat(result).hasSize(200);
+        for (var i = 0; i < 200; i++) {
+            assertThat(result).containsEntry("service-" + i, "name: service-" + i + "\nenv: prod\n");
+        }
+    }
+
+    @Test
+    void should_reuseYaml_afterInvalidFile() throws IOException {
+        // given
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setParallelism(1);
+        var importer = new YamlFilesImporter(Path.of("config"), Path.of("config/prod"), importFileProperties);
+        assertThatThrownBy(() -> importer.readFile(ByteBuffer.wrap("key: [unclosed".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(YAMLException.class);
+
+        // when
+        final var result = importer.readFile(ByteBuffer.wrap("key: value\n".getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result).containsExactly(Map.entry("key", "value"));
+        assertThat(importer.writeValueAsString(result)).isEqualTo("key: value\n");
+    }
+
+    @Test
+    void should_readLargeFiles_memoryMapped(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.writeString(rootPath.resolve("application.yaml"), "name: application\nenv: root\n");
+        Files.writeString(rootPath.resolve("service.yaml"), "name: service\n");
+        Files.writeString(targetPath.resolve("application.yaml"), "env: prod\n");
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setMmapThreshold(16);
+        var importer = new YamlFilesImporter(rootPath, targetPath, importFileProperties);
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        var source = FilesSource.fileSystem(16);
+        try (var snapshot = source.open()) {
+            assertThat(snapshot.readBuffer(rootPath.resolve("application.yaml"))).isInstanceOf(MappedByteBuffer.class);
+            assertThat(snapshot.readBuffer(rootPath.resolve("service.yaml"))).isNotInstanceOf(MappedByteBuffer.class);
+        }
+        assertThat(result)
+                .hasSize(2)
+                .containsEntry("application", "name: application\nenv: prod\n")
+                .containsEntry("service", "name: service\n");
+    }
+
+    @Test
+    void should_parseOnlyChangedFiles_onNextImport(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.writeString(rootPath.resolve("application.yaml"), "env: root\n");
+        Files.writeString(rootPath.resolve("service.yaml"), "name: service\n");
+        Files.writeString(targetPath.resolve("application.yaml"), "env: prod\n");
+        var importer = spy(new YamlFilesImporter(rootPath, targetPath));
+        importer.execute();
+
+        // when
+        Files.writeString(targetPath.resolve("application.yaml"), "env: production\n");
+        Files.setLastModifiedTime(targetPath.resolve("application.yaml"), FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        final var result = importer.execute();
+
+        // then
+        then(importer).should(times(4)).readFile(any());
+        assertThat(result)
+                .containsEntry("application", "env: production\n")
+                .containsEntry("service", "name: service\n");
+    }
+
+    @Test
+    void should_parseChangedFile_when_lastModifiedTimeAndSizeKept(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        var application = rootPath.resolve("application.yaml");
+        Files.writeString(application, "env: root\n");
+        var lastModifiedTime = Files.getLastModifiedTime(application);
+        var importer = spy(new YamlFilesImporter(rootPath, targetPath));
+        importer.execute();
+
+        // when
+        Files.writeString(application, "env: prod\n");
+        Files.setLastModifiedTime(application, lastModifiedTime);
+        final var result = importer.execute();
+
+        // then
+        then(importer).should(times(2)).readFile(any());
+        assertThat(result).containsEntry("application", "env: prod\n");
+    }
+
+    @Test
+    void should_readOnlyGivenKeys(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.writeString(rootPath.resolve("application.yaml"), "env: root\n");
+        Files.writeString(rootPath.resolve("service.yaml"), "name: service\n");
+        Files.writeString(targetPath.resolve("application.yaml"), "env: prod\n");
+        var importer = spy(new YamlFilesImporter(rootPath, targetPath));
+
+        // when
+        final var result = importer.execute(Set.of("application", "deleted"));
+
+        // then
+        then(importer).should(times(2)).readFile(any());
+        assertThat(result)
+                .hasSize(1)
+                .containsEntry("application", "env: prod\n");
+    }
+
+    @Test
+    void should_importSubDirectories_whenRecursive(@TempDir final Path rootPath) throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.createDirectories(rootPath.resolve("services/orders"));
+        Files.createDirectories(rootPath.resolve("staging/services"));
+        Files.createDirectories(targetPath.resolve("services/orders"));
+        Files.writeString(rootPath.resolve("application.yaml"), "env: root\n");
+        Files.writeString(rootPath.resolve("services/orders/application.yaml"), "name: orders\nenv: root\n");
+        Files.writeString(rootPath.resolve("services/users.yaml"), "name: users\n");
+        Files.writeString(rootPath.resolve("staging/services/users.yaml"), "env: staging\n");
+        Files.writeString(targetPath.resolve("services/orders/application.yaml"), "env: prod\n");
+        Files.writeString(targetPath.resolve("services/payments.yaml"), "name: payments\n");
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setRecursive(true);
+        importFileProperties.setExcludedDirectories(List.of("staging"));
+        var importer = new YamlFilesImporter(rootPath, targetPath, importFileProperties);
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        assertThat(result)
+                .hasSize(4)
+                .containsEntry("application", "env: root\n")
+                .containsEntry("services/orders/application", "name: orders\nenv: prod\n")
+                .containsEntry("services/users", "name: users\n")
+                .containsEntry("services/payments", "name: payments\n");
+        assertThat(importer.execute(Set.of("services/orders/application")))
+                .containsOnlyKeys("services/orders/application");
+    }
+
+    @Test
+    void should_followSymbolicLinks_whenRecursive(@TempDir final Path rootPath, @TempDir final Path sharedPath)
+            throws IOException {
+        // given
+        var targetPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.writeString(rootPath.resolve("application.yaml"), "env: root\n");
+        Files.writeString(sharedPath.resolve("orders.yaml"), "name: orders\n");
+        Files.createSymbolicLink(rootPath.resolve("services"), sharedPath);
+        // leading back to a parent directory
+        Files.createSymbolicLink(sharedPath.resolve("loop"), sharedPath);
+        Files.writeString(targetPath.resolve("application.yaml"), "env: prod\n");
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setRecursive(true);
+        var importer = new YamlFilesImporter(rootPath, targetPath, importFileProperties);
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        assertThat(result)
+                .hasSize(2)
+                .containsEntry("application", "env: prod\n")
+                .containsEntry("services/orders", "name: orders\n");
+    }
+
+    @Test
+    void should_parseRootOnce_forAllTargets(@TempDir final Path rootPath) throws IOException {
+        // given
+        var devPath = Files.createDirectory(rootPath.resolve("dev"));
+        var prodPath = Files.createDirectory(rootPath.resolve("prod"));
+        Files.writeString(rootPath.resolve("application.yaml"), "name: application\nenv: root\n");
+        Files.writeString(rootPath.resolve("service.yaml"), "name: service\n");
+        Files.writeString(devPath.resolve("application.yaml"), "env: dev\n");
+        Files.writeString(prodPath.resolve("application.yaml"), "env: prod\n");
+        Files.writeString(prodPath.resolve("service.yaml"), "replicas: 3\n");
+        var prod = new ImportFileProperties.Target();
+        prod.setName("prod");
+        prod.setKvVersion(Optional.of("prod"));
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setTarget("dev");
+        importFileProperties.setTargets(List.of(prod));
+        var importer = spy(new YamlFilesImporter(rootPath, devPath, importFileProperties));
+
+        // when
+        final var result = importer.executeTargets();
+
+        // then
+        then(importer).should(times(5)).readFile(any());
+        assertThat(importer.targets())
+                .containsExactly(
+                        new DataImporter.Target("dev", Optional.empty(), Optional.empty()),
+                        new DataImporter.Target("prod", Optional.empty(), Optional.of("prod")));
+        assertThat(result).containsOnlyKeys("dev", "prod");
+        assertThat(result.get("dev"))
+                .hasSize(2)
+                .containsEntry("application", "name: application\nenv: dev\n")
+                .containsEntry("service", "name: service\n");
+        assertThat(result.get("prod"))
+                .hasSize(2)
+                .containsEntry("application", "name: application\nenv: prod\n")
+                .containsEntry("service", "name: service\nreplicas: 3\n");
+    }
+
+    @Test
+    void should_readFilesFromGivenSource() {
+        // given
+        var files = new HashMap<Path, String>();
+        files.put(Path.of("config/application.yaml"), "env: root\n");
+        files.put(Path.of("config/service.yaml"), "name: service\n");
+        files.put(Path.of("config/prod/application.yaml"), "env: prod\n");
+        var filesSource = new InMemoryFilesSource(files);
+        var importer = spy(new YamlFilesImporter(filesSource, Path.of("config"), Path.of("config/prod"),
+                new ImportFileProperties(), new PopulateMetrics(new SimpleMeterRegistry())));
+        importer.execute();
+
+        // when
+        files.put(Path.of("config/service.yaml"), "name: new service\n");
+        final var result = importer.execute();
+
+        // then
+        then(importer).should(times(4)).readFile(any());
+        assertThat(filesSource.opened).isEqualTo(2);
+        assertThat(result)
+                .hasSize(2)
+                .containsEntry("application", "env: prod\n")
+                .containsEntry("service", "name: new service\n");
+    }
+
+    @Test
+    void should_notReadUnchangedFiles_largerThanVerifyMaxSize() {
+        // given
+        var files = new HashMap<Path, String>();
+        files.put(Path.of("config/application.yaml"), "env: root\n");
+        files.put(Path.of("config/service.yaml"), "name: service\n");
+        files.put(Path.of("config/prod/application.yaml"), "env: prod\n");
+        var filesSource = new InMemoryFilesSource(files);
+        var importFileProperties = new ImportFileProperties();
+        importFileProperties.setVerifyMaxSize(4);
+        var importer = new YamlFilesImporter(filesSource, Path.of("config"), Path.of("config/prod"),
+                importFileProperties, new PopulateMetrics(new SimpleMeterRegistry()));
+        importer.execute();
+
+        // when
+        final var result = importer.execute();
+
+        // then
+        assertThat(filesSource.reads).hasValue(3);
+        assertThat(result)
+                .hasSize(2)
+                .containsEntry("application", "env: prod\n")
+                .containsEntry("service", "name: service\n");
+    }
+
+    /**
+     * Files in memory, whose content is their stamp
+     */
+    private static final class InMemoryFilesSource implements FilesSource, FilesSource.Snapshot {
+
+        private final Map<Path, String> files;
+        private int opened;
+        // the files are read concurrently
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private InMemoryFilesSource(final Map<Path, String> files) {
+            this.files = files;
+        }
+
+        @Override
+        public Snapshot open() {
+            opened++;
+            return this;
+        }
+
+        @Override
+        public boolean isDirectory(final Path directory) {
+            return files.keySet().stream().anyMatch(file -> directory.equals(file.getParent()));
+        }
+
+        @Override
+        public List<Path> listFiles(final Path directory) {
+            return files.keySet().stream().filter(file -> directory.equals(file.getParent())).toList();
+        }
+
+        @Override
+        public List<Path> walkFiles(final Path directory, final Set<Path> excludedDirectories, final Executor executor) {
+            return files.keySet().stream().filter(file -> file.startsWith(directory)).toList();
+        }
+
+        @Override
+        public String stamp(final Path file) {
+            return files.get(file);
+        }
+
+        @Override
+        public byte[] read(final Path file) {
+            reads.incrementAndGet();
+            return files.get(file).getBytes(StandardCharsets.UTF_8);
+        }
+    }
 }
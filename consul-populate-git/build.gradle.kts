@@ -20,6 +20,7 @@ dependencies {
 
     implementation(mn.micronaut.context)
     implementation(mn.micronaut.management)
+    implementation(mn.micronaut.micrometer.core)
     implementation(mn.micronaut.validation)
     implementation(mn.micronaut.jackson.databind)
     implementation(projects.consulPopulateCore)
@@ -2,13 +2,28 @@ package com.frogdevelopment.consul.populate.git;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
 import jakarta.inject.Singleton;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.InvalidRemoteException;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
 
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
@@ -18,6 +33,21 @@ import io.micronaut.core.util.StringUtils;
  * Factory for creating and configuring the {@link Git} instance.
  * Clones the repository on bean creation and automatically closes it on shutdown.
  *
+ * <p>The clone can be limited, see {@link GitProperties.Clone}:
+ * <ul>
+ *   <li>to the last commits of the branch, with a configurable depth</li>
+ *   <li>to the configured branch only</li>
+ *   <li>to the files under the root path in the working tree: the index still tracks the whole tree,
+ *   so the pulls keep working, while the other files are left missing from the working tree,
+ *   see {@link SparseCheckout}</li>
+ *   <li>to no working tree at all, the repository being bare</li>
+ * </ul>
+ *
+ * <p>When {@link GitProperties#isReuseLocalRepository() reusing the local repository}, a repository left by
+ * a previous run is validated and fast-forwarded instead of being cloned again. It is deleted and cloned again
+ * when it was cloned from another remote, is on another branch, is corrupted or cannot be fast-forwarded. When the
+ * remote cannot be fetched, it is kept as is, starting from its local HEAD until the next pulls succeed.
+ *
  * @author Le Gall Benoît
  * @since 1.2.0
  */
@@ -26,7 +56,7 @@ import io.micronaut.core.util.StringUtils;
 public class GitFactory {
 
     /**
-     * Creates a Git instance by cloning the configured repository.
+     * Creates a Git instance by cloning the configured repository, or by reusing the one previously cloned.
      * The instance is automatically closed on application shutdown via {@link Bean#preDestroy()}.
      *
      * @param gitProperties git configuration properties
@@ -42,14 +72,162 @@ public class GitFactory {
         CredentialsProvider.setDefault(credentialsProvider);
         final var repositoryDirectory = repositoryDirectoryProvider.getRepository();
 
+        if (gitProperties.isReuseLocalRepository()) {
+            final var existing = reuse(gitProperties, repositoryDirectory);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
+        return cloneRepository(gitProperties, repositoryDirectory);
+    }
+
+    private static Optional<Git> reuse(final GitProperties gitProperties, final Path repositoryDirectory) {
+        // a bare repository is the git directory itself
+        if (Files.notExists(repositoryDirectory.resolve(Constants.DOT_GIT))
+            && Files.notExists(repositoryDirectory.resolve(Constants.HEAD))) {
+            log.debug("No repository to reuse in [{}]", repositoryDirectory);
+            return Optional.empty();
+        }
+
+        Git git = null;
+        try {
+            git = Git.open(repositoryDirectory.toFile());
+            validate(git, gitProperties);
+        } catch (final IOException | GitAPIException | RuntimeException e) {
+            return delete(git, repositoryDirectory, e);
+        }
+
+        try {
+            fastForward(git, gitProperties);
+            log.info("Reusing repository [{}]", repositoryDirectory);
+        } catch (final InvalidRemoteException | TransportException e) {
+            // the repository being valid, it is kept instead of failing to clone it again from the same remote
+            log.warn("Unable to fetch the repository [{}], reusing it from its local HEAD", repositoryDirectory, e);
+        } catch (final IOException | GitAPIException | RuntimeException e) {
+            return delete(git, repositoryDirectory, e);
+        }
+        return Optional.of(git);
+    }
+
+    private static Optional<Git> delete(final Git git, final Path repositoryDirectory, final Exception cause) {
+        log.warn("Unable to reuse the repository [{}], cloning it again", repositoryDirectory, cause);
+        if (git != null) {
+            git.close();
+        }
+        try {
+            FileUtils.deleteDirectory(repositoryDirectory.toFile());
+        } catch (final IOException ioe) {
+            log.error("Failed to delete repository [{}]", repositoryDirectory, ioe);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks the repository was cloned from the configured remote and branch, and that its index and all the objects
+     * of its HEAD tree are readable.
+     */
+    private static void validate(final Git git, final GitProperties gitProperties) throws IOException, GitAPIException {
+        final var repository = git.getRepository();
+        final var remoteUri = repository.getConfig().getString(ConfigConstants.CONFIG_REMOTE_SECTION,
+                Constants.DEFAULT_REMOTE_NAME, ConfigConstants.CONFIG_KEY_URL);
+        if (!gitProperties.getUri().equals(remoteUri)) {
+            throw new IllegalStateException("Repository cloned from another remote");
+        }
+        if (!gitProperties.getBranch().equals(repository.getBranch())) {
+            throw new IllegalStateException("Repository on branch " + repository.getBranch());
+        }
+        if (repository.isBare() != gitProperties.getClone().isBare()) {
+            throw new IllegalStateException("Repository bare: " + repository.isBare());
+        }
+        final var head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            throw new IllegalStateException("Repository without HEAD");
+        }
+
+        try (final var revWalk = new RevWalk(repository);
+             final var treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(revWalk.parseCommit(head).getTree());
+            treeWalk.setRecursive(true);
+            final var reader = treeWalk.getObjectReader();
+            while (treeWalk.next()) {
+                if (treeWalk.getFileMode(0) != FileMode.GITLINK && !reader.has(treeWalk.getObjectId(0))) {
+                    throw new MissingObjectException(treeWalk.getObjectId(0), treeWalk.getFileMode(0).getObjectType());
+                }
+            }
+        }
+        if (!repository.isBare()) {
+            // reads the index
+            git.status().call();
+        }
+    }
+
+    private static void fastForward(final Git git, final GitProperties gitProperties)
+            throws IOException, GitAPIException {
+        if (gitProperties.getClone().isBare()) {
+            // the fetch moves the branch itself, there is no working tree to update
+            git.fetch().setRemote(Constants.DEFAULT_REMOTE_NAME).call();
+            return;
+        }
+
+        final var checkoutPath = SparseCheckout.path(gitProperties);
+        if (StringUtils.isNotEmpty(checkoutPath)) {
+            if (!SparseCheckout.fastForward(git, gitProperties.getBranch(), checkoutPath)) {
+                throw new IllegalStateException("Unable to fast-forward the repository");
+            }
+            return;
+        }
+
+        final var pullResult = git.pull()
+                .setRemote(Constants.DEFAULT_REMOTE_NAME)
+                .setRemoteBranchName(gitProperties.getBranch())
+                .setFastForward(MergeCommand.FastForwardMode.FF_ONLY)
+                .call();
+        if (!pullResult.isSuccessful()) {
+            throw new IllegalStateException("Unable to fast-forward the repository: " + pullResult);
+        }
+    }
+
+    private static Git cloneRepository(final GitProperties gitProperties, final Path repositoryDirectory)
+            throws GitAPIException {
+        final var cloneProperties = gitProperties.getClone();
+        final var checkoutPath = SparseCheckout.path(gitProperties);
+
         log.debug("Cloning repository [{}]", gitProperties.getUri());
-        return Git.cloneRepository()
+        final var cloneCommand = Git.cloneRepository()
                 .setURI(gitProperties.getUri())
                 .setDirectory(repositoryDirectory.toFile())
-                .setGitDir(repositoryDirectory.resolve(Constants.DOT_GIT).toFile())
                 .setBranch(gitProperties.getBranch())
-                .setRemote(Constants.DEFAULT_REMOTE_NAME)
-                .call();
+                .setRemote(Constants.DEFAULT_REMOTE_NAME);
+        if (cloneProperties.isBare()) {
+            // no working tree, the configurations are read from the object database
+            cloneCommand.setBare(true);
+        } else {
+            cloneCommand.setGitDir(repositoryDirectory.resolve(Constants.DOT_GIT).toFile())
+                    .setNoCheckout(StringUtils.isNotEmpty(checkoutPath));
+        }
+        if (cloneProperties.isSingleBranch()) {
+            cloneCommand.setCloneAllBranches(false)
+                    .setBranchesToClone(List.of(Constants.R_HEADS + gitProperties.getBranch()));
+        }
+        if (cloneProperties.getDepth() > 0) {
+            cloneCommand.setDepth(cloneProperties.getDepth());
+        }
+        final var git = cloneCommand.call();
+
+        if (StringUtils.isNotEmpty(checkoutPath)) {
+            checkout(git, checkoutPath);
+        }
+        return git;
+    }
+
+    private static void checkout(final Git git, final String path) throws GitAPIException {
+        try {
+            SparseCheckout.checkout(git, path);
+        } catch (final GitAPIException | RuntimeException e) {
+            git.close();
+            throw e;
+        }
     }
 
     private static CredentialsProvider createCredentialsProvider(final GitProperties gitProperties) {
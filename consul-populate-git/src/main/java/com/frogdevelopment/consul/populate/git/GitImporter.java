@@ -3,12 +3,21 @@ package com.frogdevelopment.consul.populate.git;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import jakarta.inject.Singleton;
 
+import org.eclipse.jgit.api.Git;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.frogdevelopment.consul.populate.DataImporter;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.files.ImportFileProperties;
 import com.frogdevelopment.consul.populate.files.JsonFilesImporter;
 import com.frogdevelopment.consul.populate.files.PropertiesFilesImporter;
 import com.frogdevelopment.consul.populate.files.YamlFilesImporter;
@@ -21,6 +30,9 @@ import io.micronaut.core.util.StringUtils;
  * Delegates to the appropriate {@link com.frogdevelopment.consul.populate.files.FilesImporter}
  * based on the configured file format.
  *
+ * <p>When the repository is {@link GitProperties.Clone#isBare() bare}, the files are read straight from the object
+ * database at the HEAD commit, see {@link GitTreeFilesSource}, instead of from the working tree.
+ *
  * @author Le Gall Benoît
  * @since 1.2.0
  */
@@ -29,9 +41,14 @@ import io.micronaut.core.util.StringUtils;
 @RequiredArgsConstructor
 public class GitImporter implements DataImporter {
 
+    private final Git git;
     private final RepositoryDirectoryProvider repositoryDirectoryProvider;
     private final GitProperties gitProperties;
     private final ObjectMapper objectMapper;
+    private final PopulateMetrics populateMetrics;
+
+    // kept between imports, as FilesImporter only parses again the files changed since the previous import
+    private final AtomicReference<DataImporter> filesImporter = new AtomicReference<>();
 
     /**
      * Reads configuration files from the cloned git repository and converts them to key-value pairs.
@@ -41,10 +58,72 @@ public class GitImporter implements DataImporter {
     @NonNull
     @Override
     public Map<String, String> execute() {
+        return getFilesImporter().execute();
+    }
+
+    /**
+     * Reads configuration files from the cloned git repository, serializing each one only when consumed.
+     *
+     * @return configuration keys with their JSON/YAML/Properties string values
+     */
+    @NonNull
+    @Override
+    public Stream<Map.Entry<String, String>> stream() {
+        return getFilesImporter().stream();
+    }
+
+    /**
+     * Reads only the configuration files matching the given keys from the cloned git repository.
+     *
+     * @param keys keys to import
+     * @return map of configuration keys to their JSON/YAML/Properties string values, containing only the given keys
+     */
+    @NonNull
+    @Override
+    public Map<String, String> execute(@NonNull final Set<String> keys) {
+        return getFilesImporter().execute(keys);
+    }
+
+    /**
+     * @return the target and the additional targets of the configuration files
+     */
+    @NonNull
+    @Override
+    public List<Target> targets() {
+        return getFilesImporter().targets();
+    }
+
+    /**
+     * Reads the configuration files of all the targets at once from the cloned git repository.
+     *
+     * @return per target name, map of configuration keys to their JSON/YAML/Properties string values
+     */
+    @NonNull
+    @Override
+    public Map<String, Map<String, String>> executeTargets() {
+        return getFilesImporter().executeTargets();
+    }
+
+    private DataImporter getFilesImporter() {
+        var importer = filesImporter.get();
+        if (importer == null) {
+            importer = createFilesImporter();
+            if (!filesImporter.compareAndSet(null, importer)) {
+                // Another thread initialized it first, use that value
+                importer = filesImporter.get();
+            }
+        }
+        return importer;
+    }
+
+    private DataImporter createFilesImporter() {
         final var repositoryDirectory = repositoryDirectoryProvider.getRepository();
         log.debug("Reading configurations from git repository at {}", repositoryDirectory);
 
         final var fileProperties = gitProperties.getFileProperties();
+        if (gitProperties.getClone().isBare()) {
+            return createGitTreeImporter(fileProperties);
+        }
 
         // Calculate root and target paths within the cloned repository
         final var rootPath = StringUtils.isEmpty(fileProperties.getRootPath())
@@ -56,12 +135,26 @@ public class GitImporter implements DataImporter {
                 : rootPath.resolve(fileProperties.getTarget());
 
         // Delegate to the appropriate FilesImporter based on format
-        final DataImporter filesImporter = switch (fileProperties.getFormat()) {
-            case JSON -> new JsonFilesImporter(rootPath, targetPath, objectMapper);
-            case PROPERTIES -> new PropertiesFilesImporter(rootPath, targetPath);
-            case YAML -> new YamlFilesImporter(rootPath, targetPath);
+        return switch (fileProperties.getFormat()) {
+            case JSON -> new JsonFilesImporter(rootPath, targetPath, fileProperties, objectMapper, populateMetrics);
+            case PROPERTIES -> new PropertiesFilesImporter(rootPath, targetPath, fileProperties, populateMetrics);
+            case YAML -> new YamlFilesImporter(rootPath, targetPath, fileProperties, populateMetrics);
         };
+    }
+
+    private DataImporter createGitTreeImporter(final ImportFileProperties fileProperties) {
+        final var filesSource = new GitTreeFilesSource(git);
 
-        return filesImporter.execute();
+        // Calculate root and target paths within the tree of the commit
+        final var rootPath = Path.of(SparseCheckout.toGitPath(fileProperties.getRootPath()));
+        final var targetPath = StringUtils.isEmpty(fileProperties.getTarget())
+                ? rootPath
+                : rootPath.resolve(fileProperties.getTarget());
+
+        return switch (fileProperties.getFormat()) {
+            case JSON -> new JsonFilesImporter(filesSource, rootPath, targetPath, fileProperties, objectMapper, populateMetrics);
+            case PROPERTIES -> new PropertiesFilesImporter(filesSource, rootPath, targetPath, fileProperties, populateMetrics);
+            case YAML -> new YamlFilesImporter(filesSource, rootPath, targetPath, fileProperties, populateMetrics);
+        };
     }
 }
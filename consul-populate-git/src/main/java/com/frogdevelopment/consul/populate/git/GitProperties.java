@@ -8,6 +8,8 @@ import java.time.Duration;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import com.frogdevelopment.consul.populate.files.ImportFileProperties;
 
@@ -18,7 +20,7 @@ import io.micronaut.context.annotation.ConfigurationProperties;
  * Configuration properties for git-based import.
  * Maps to properties with prefix {@code consul.git}.
  *
- * <p>Configures repository connection (uri, branch, credentials), local storage path,
+ * <p>Configures repository connection (uri, branch, credentials), local storage path, clone settings,
  * optional scheduledPoll for changes, and file import settings via nested {@link ImportFileProperties}.
  *
  * @author Le Gall Benoît
@@ -66,6 +68,23 @@ public class GitProperties {
     @Nullable
     private Webhook webhook;
 
+    /**
+     * Whether to reuse the repository cloned by a previous run in {@code localPath}, e.g. on a mounted volume,
+     * instead of cloning it in a new temporary directory (default: false).
+     * The existing repository is validated and fast-forwarded, or cloned again if it cannot be reused.
+     * Should not be combined with {@code clean-up}.
+     *
+     * @since 1.3.0
+     */
+    private boolean reuseLocalRepository = false;
+
+    /**
+     * Clone settings (depth, single branch, checkout limited to the root path, bare)
+     *
+     * @since 1.3.0
+     */
+    private Clone clone = new Clone();
+
     /**
      * Whether to delete the cloned repository on server shutdown (default: false)
      */
@@ -88,6 +107,60 @@ public class GitProperties {
     @NotNull
     private Duration pollInterval = Duration.ofMinutes(5);
 
+    /**
+     * Quiet window during which the pull triggers (webhook, forced or scheduled) are merged into a single pull and
+     * populate, and that must elapse after a pull before the merged follow-up one starts (default: 2 seconds)
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    private Duration quietWindow = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time a trigger waits for its pull while the quiet window keeps being restarted by new triggers, so that
+     * a steady flow of triggers does not postpone the populate indefinitely (default: 10 seconds)
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(10);
+
+    /**
+     * Clone settings, reducing the time and disk space needed to clone large repositories, all disabled by default.
+     * Blobless (partial) clones are not available, JGit not being able to request a filter from the remote.
+     * Maps to properties with prefix {@code consul.git.clone}.
+     *
+     * @since 1.3.0
+     */
+    @Data
+    @ConfigurationProperties("clone")
+    public static class Clone {
+
+        /**
+         * Number of commits to fetch from the tip of the branch, 0 meaning the whole history (default: 0)
+         */
+        @PositiveOrZero
+        private int depth = 0;
+
+        /**
+         * Whether to only fetch the configured branch instead of all the branches (default: false)
+         */
+        private boolean singleBranch = false;
+
+        /**
+         * Whether to only check out the files under {@code files.root-path} in the working tree,
+         * instead of the whole repository (default: false)
+         */
+        private boolean checkoutRootPathOnly = false;
+
+        /**
+         * Whether to clone without working tree, the configurations being read straight from the git object database
+         * at the HEAD commit, instead of being checked out (default: false).
+         * When enabled, {@code checkout-root-path-only} is ignored
+         */
+        private boolean bare = false;
+    }
+
     /**
      * Webhook configuration for git provider push events.
      * Maps to properties with prefix {@code consul.git.webhook}.
@@ -116,6 +189,16 @@ public class GitProperties {
         @Nullable
         private String secret;
 
+        /**
+         * Maximum number of webhook deliveries waiting for their pull (default: 100).
+         * Further deliveries are rejected with {@code 429 Too Many Requests} until the pending ones are done.
+         * The same number of completed deliveries is kept for the status lookup.
+         *
+         * @since 1.3.0
+         */
+        @Positive
+        private int queueCapacity = 100;
+
         /**
          * Supported git provider types for webhooks.
          */
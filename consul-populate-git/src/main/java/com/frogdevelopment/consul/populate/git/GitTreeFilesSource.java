@@ -0,0 +1,199 @@
+package com.frogdevelopment.consul.populate.git;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+import com.frogdevelopment.consul.populate.files.FilesSource;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Reads the configuration files straight from the git object database, at the HEAD commit, without working tree.
+ *
+ * <p>Each import reads all its files from the commit HEAD pointed to when it started, even if a pull moves HEAD
+ * meanwhile. The blob identifier being the hash of the content, a file is only read again when its content changed.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ * @see GitProperties.Clone#isBare()
+ */
+@Slf4j
+@RequiredArgsConstructor
+class GitTreeFilesSource implements FilesSource {
+
+    private final Git git;
+
+    @NonNull
+    @Override
+    public Snapshot open() throws IOException {
+        final var repository = git.getRepository();
+        final var head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            throw new IOException("Repository without HEAD");
+        }
+        try (final var revWalk = new RevWalk(repository)) {
+            final var commit = revWalk.parseCommit(head);
+            log.debug("Reading configurations from commit {}", commit.abbreviate(7).name());
+            return new CommitSnapshot(repository, commit.getTree());
+        }
+    }
+
+    /**
+     * Files of a commit. The directories are listed with a single reader, while the blobs are read concurrently, each
+     * with its own reader.
+     */
+    private static final class CommitSnapshot implements Snapshot {
+
+        private final Repository repository;
+        private final ObjectId tree;
+        private final ObjectReader reader;
+        private final Map<Path, ObjectId> blobs = new ConcurrentHashMap<>();
+
+        private CommitSnapshot(final Repository repository, final ObjectId tree) {
+            this.repository = repository;
+            this.tree = tree;
+            this.reader = repository.newObjectReader();
+        }
+
+        @Override
+        public boolean isDirectory(@NonNull final Path directory) throws IOException {
+            return findTree(directory) != null;
+        }
+
+        @NonNull
+        @Override
+        public List<Path> listFiles(@NonNull final Path directory) throws IOException {
+            final var directoryTree = findTree(directory);
+            if (directoryTree == null) {
+                return List.of();
+            }
+
+            final var files = new ArrayList<Path>();
+            try (final var treeWalk = new TreeWalk(reader)) {
+                treeWalk.addTree(directoryTree);
+                treeWalk.setRecursive(false);
+                while (treeWalk.next()) {
+                    // sub-directories are skipped
+                    if (isFile(treeWalk.getFileMode(0))) {
+                        final var file = directory.resolve(treeWalk.getNameString());
+                        blobs.put(file, treeWalk.getObjectId(0));
+                        files.add(file);
+                    }
+                }
+            }
+            return files;
+        }
+
+        @NonNull
+        @Override
+        public List<Path> walkFiles(@NonNull final Path directory,
+                                    @NonNull final Set<Path> excludedDirectories,
+                                    @NonNull final Executor executor) throws IOException {
+            final var directoryTree = findTree(directory);
+            if (directoryTree == null) {
+                return List.of();
+            }
+
+            // the trees are read from the object database, without any I/O on the working tree
+            final var files = new ArrayList<Path>();
+            try (final var treeWalk = new TreeWalk(reader)) {
+                treeWalk.addTree(directoryTree);
+                treeWalk.setRecursive(false);
+                while (treeWalk.next()) {
+                    final var path = directory.resolve(treeWalk.getPathString());
+                    if (treeWalk.isSubtree()) {
+                        if (!excludedDirectories.contains(path.normalize())) {
+                            treeWalk.enterSubtree();
+                        }
+                    } else if (isFile(treeWalk.getFileMode(0))) {
+                        blobs.put(path, treeWalk.getObjectId(0));
+                        files.add(path);
+                    }
+                }
+            }
+            return files;
+        }
+
+        private static boolean isFile(final FileMode fileMode) {
+            // symbolic links and submodules are skipped
+            return FileMode.REGULAR_FILE.equals(fileMode) || FileMode.EXECUTABLE_FILE.equals(fileMode);
+        }
+
+        @Nullable
+        private ObjectId findTree(final Path directory) throws IOException {
+            final var gitPath = SparseCheckout.toGitPath(directory.toString());
+            if (gitPath.isEmpty()) {
+                return tree;
+            }
+            try (final var treeWalk = TreeWalk.forPath(reader, gitPath, tree)) {
+                if (treeWalk == null || !FileMode.TREE.equals(treeWalk.getFileMode(0))) {
+                    return null;
+                }
+                return treeWalk.getObjectId(0);
+            }
+        }
+
+        @NonNull
+        @Override
+        public String stamp(@NonNull final Path file) throws IOException {
+            return blob(file).name();
+        }
+
+        /**
+         * The stamp is the id of the blob, a hash of its content
+         */
+        @Override
+        public boolean isStampExact() {
+            return true;
+        }
+
+        @NonNull
+        @Override
+        public byte[] read(@NonNull final Path file) throws IOException {
+            // ObjectReader is not thread-safe, and the files are read concurrently
+            try (final var blobReader = repository.newObjectReader()) {
+                final var loader = blobReader.open(blob(file), Constants.OBJ_BLOB);
+                if (loader.isLarge()) {
+                    // above the stream threshold, the blob is not held in memory by the loader and must be streamed
+                    try (final var stream = loader.openStream()) {
+                        return stream.readAllBytes();
+                    }
+                }
+                return loader.getBytes();
+            }
+        }
+
+        private ObjectId blob(final Path file) throws FileNotFoundException {
+            final var blob = blobs.get(file);
+            if (blob == null) {
+                throw new FileNotFoundException("File not listed: " + file);
+            }
+            return blob;
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+}
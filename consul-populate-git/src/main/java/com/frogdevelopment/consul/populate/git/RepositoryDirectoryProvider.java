@@ -16,6 +16,9 @@ import org.eclipse.jgit.transport.URIish;
  * Thread-safe provider for the git repository directory path.
  * Uses lazy initialization with memoization to create the directory only once.
  *
+ * <p>The repository is cloned in a new temporary directory, unless the local repository is reused,
+ * in which case a stable directory named after the repository is used in the local path.
+ *
  * @author Le Gall Benoît
  * @since 1.2.0
  */
@@ -51,11 +54,13 @@ public class RepositoryDirectoryProvider {
             if (Files.notExists(localPath)) {
                 Files.createDirectories(localPath);
             }
-            final var tmpDirectory = Files.createTempDirectory(localPath, "consul-populate-");
+            final var parentDirectory = gitProperties.isReuseLocalRepository()
+                    ? localPath
+                    : Files.createTempDirectory(localPath, "consul-populate-");
 
             final var urIish = new URIish(gitProperties.getUri());
 
-            return tmpDirectory.resolve(urIish.getHumanishName());
+            return parentDirectory.resolve(urIish.getHumanishName());
         } catch (final IOException | URISyntaxException e) {
             throw new IllegalArgumentException(e);
         }
@@ -0,0 +1,151 @@
+package com.frogdevelopment.consul.populate.git;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.io.FilenameUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import io.micronaut.core.util.StringUtils;
+
+/**
+ * Util class to keep only the files under the root path in the working tree, when
+ * {@link GitProperties.Clone#isCheckoutRootPathOnly() checkout-root-path-only} is enabled.
+ *
+ * <p>JGit does not support sparse-checkout, so it is emulated: the index tracks the whole tree, as if the other files
+ * were only deleted from the working tree, and only the files under the root path changed by a commit are written.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SparseCheckout {
+
+    /**
+     * @param gitProperties git configuration properties
+     * @return the path checked out in the working tree, or an empty string if the whole tree is checked out, or if
+     * the repository is bare
+     */
+    public static String path(final GitProperties gitProperties) {
+        final var cloneProperties = gitProperties.getClone();
+        return cloneProperties.isCheckoutRootPathOnly() && !cloneProperties.isBare()
+                ? toGitPath(gitProperties.getFileProperties().getRootPath())
+                : "";
+    }
+
+    /**
+     * @param path a path relative to the repository
+     * @return the path normalized with {@code /} separators, as used by git, or an empty string for the whole tree
+     */
+    public static String toGitPath(final String path) {
+        if (StringUtils.isEmpty(path)) {
+            return "";
+        }
+        return FilenameUtils.separatorsToUnix(Path.of(path).normalize().toString());
+    }
+
+    /**
+     * @param path path to filter on, or an empty string for the whole tree
+     * @return the filter to use when walking the trees
+     */
+    public static TreeFilter filter(final String path) {
+        return path.isEmpty() ? TreeFilter.ALL : PathFilter.create(path);
+    }
+
+    /**
+     * Checks out only the given path of a repository cloned without checkout.
+     *
+     * @param git  repository cloned without checkout
+     * @param path path to check out
+     * @throws GitAPIException if the checkout fails
+     */
+    public static void checkout(final Git git, final String path) throws GitAPIException {
+        log.debug("Checking out [{}] only", path);
+        // the index tracks the whole tree, as if the other files were deleted from the working tree only
+        git.reset().setMode(ResetCommand.ResetType.MIXED).call();
+        git.checkout().addPath(path).call();
+    }
+
+    /**
+     * Fetches the branch and fast-forwards to it, writing only the files under the given path changed in between.
+     *
+     * @param git    repository whose only the given path is checked out
+     * @param branch branch to fetch
+     * @param path   path checked out
+     * @return true if the repository is up-to-date, false if it could not be fast-forwarded
+     * @throws GitAPIException if the fetch or the checkout fails
+     * @throws IOException     if the commits cannot be read
+     */
+    public static boolean fastForward(final Git git, final String branch, final String path)
+            throws GitAPIException, IOException {
+        final var repository = git.getRepository();
+        git.fetch().setRemote(Constants.DEFAULT_REMOTE_NAME).call();
+
+        final var head = repository.resolve(Constants.HEAD);
+        final var fetched = repository.resolve(Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + branch);
+        if (fetched == null) {
+            log.warn("Branch {} not found on remote", branch);
+            return false;
+        }
+        if (fetched.equals(head)) {
+            return true;
+        }
+        try (final var revWalk = new RevWalk(repository)) {
+            if (!revWalk.isMergedInto(revWalk.parseCommit(head), revWalk.parseCommit(fetched))) {
+                log.warn("Unable to fast-forward from {} to {}", head.name(), fetched.name());
+                return false;
+            }
+        }
+
+        final var changes = diff(git, head, fetched, path);
+        // moves HEAD and the index to the fetched commit, leaving the working tree untouched
+        git.reset().setMode(ResetCommand.ResetType.MIXED).setRef(fetched.name()).call();
+
+        final var workTree = repository.getWorkTree().toPath();
+        final var checkoutCommand = git.checkout();
+        var checkout = false;
+        for (final var change : changes) {
+            if (change.getChangeType() == DiffEntry.ChangeType.DELETE) {
+                Files.deleteIfExists(workTree.resolve(change.getOldPath()));
+            } else {
+                checkoutCommand.addPath(change.getNewPath());
+                checkout = true;
+            }
+        }
+        if (checkout) {
+            checkoutCommand.call();
+        }
+        log.debug("Fast-forwarded to {}, {} file(s) changed under [{}]", fetched.name(), changes.size(), path);
+        return true;
+    }
+
+    /**
+     * @return the files added, modified or deleted under the path between both commits, renames being split
+     * into a deletion and an addition
+     */
+    public static List<DiffEntry> diff(final Git git, final ObjectId oldHead, final ObjectId newHead, final String path)
+            throws IOException {
+        try (final var diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            diffFormatter.setRepository(git.getRepository());
+            diffFormatter.setPathFilter(filter(path));
+            return diffFormatter.scan(oldHead, newHead);
+        }
+    }
+}
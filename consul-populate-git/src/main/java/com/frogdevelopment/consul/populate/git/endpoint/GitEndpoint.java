@@ -5,9 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.ForcePullHandler;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.TogglePollHandler;
+import com.frogdevelopment.consul.populate.git.endpoint.handlers.WebhookDeliveries;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.WebhookHandler;
 import com.frogdevelopment.consul.populate.git.endpoint.model.GitSummary;
 import com.frogdevelopment.consul.populate.git.endpoint.model.GitSummaryProvider;
+import com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery;
 
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpRequest;
@@ -19,6 +21,8 @@ import io.micronaut.management.endpoint.annotation.Endpoint;
 import io.micronaut.management.endpoint.annotation.Read;
 import io.micronaut.management.endpoint.annotation.Selector;
 import io.micronaut.management.endpoint.annotation.Write;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 
 /**
  * Micronaut management endpoint for Git-based configuration operations.
@@ -31,6 +35,9 @@ import io.micronaut.management.endpoint.annotation.Write;
  * <p>Returns a {@link GitSummary} containing the current state of the Git repository,
  * including repository info, HEAD commit details, and pull status.
  *
+ * <h2>Webhook Delivery (GET /git/webhook/{deliveryId})</h2>
+ * <p>Returns the {@link WebhookDelivery} status of a delivery accepted by the {@code webhook} action.
+ *
  * <h2>Write Operations (POST /git/{action})</h2>
  * <p>Supports the following actions:
  * <ul>
@@ -56,6 +63,7 @@ public class GitEndpoint {
     private final TogglePollHandler togglePollHandler;
     private final WebhookHandler webhookHandler;
     private final ForcePullHandler forcePullHandler;
+    private final WebhookDeliveries webhookDeliveries;
 
     /**
      * Returns a summary of the current Git repository state.
@@ -67,6 +75,26 @@ public class GitEndpoint {
         return gitSummaryProvider.generateSummary();
     }
 
+    /**
+     * Returns the status of a webhook delivery.
+     *
+     * @param action     the action, only "webhook" is supported
+     * @param deliveryId the identifier of the delivery, as returned by the webhook action
+     * @return the delivery status, or {@link HttpResponse#notFound()} if unknown
+     * @since 1.3.0
+     */
+    @Read
+    public HttpResponse<WebhookDelivery> webhookDelivery(@Selector final String action,
+                                                         @Selector final String deliveryId) {
+        if (!ACTION_WEBHOOK.equals(action)) {
+            log.warn("Invalid action {}", action);
+            return HttpResponse.notFound();
+        }
+        return webhookDeliveries.find(deliveryId)
+                .<HttpResponse<WebhookDelivery>>map(HttpResponse::ok)
+                .orElseGet(HttpResponse::notFound);
+    }
+
     /**
      * Handles write actions on the Git endpoint.
      *
@@ -77,6 +105,7 @@ public class GitEndpoint {
      */
     @Write
     @Status(HttpStatus.OK)
+    @ExecuteOn(TaskExecutors.BLOCKING)
     public HttpResponse<Void> handleGitActions(@Selector final String action,
                                                final HttpRequest<?> request,
                                                @Body @Nullable final String body) {
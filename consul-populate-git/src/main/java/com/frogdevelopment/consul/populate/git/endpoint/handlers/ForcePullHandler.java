@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import jakarta.inject.Singleton;
 
 import com.frogdevelopment.consul.populate.git.pull.GitPull;
+import com.frogdevelopment.consul.populate.git.pull.PopulateScheduler;
 
 import io.micronaut.http.HttpResponse;
 
@@ -17,18 +18,21 @@ import io.micronaut.http.HttpResponse;
  * <p>Triggers a forced git pull operation when invoked through
  * the {@code /git/force-pull} endpoint. This allows administrators to manually
  * synchronize the local repository with the remote without waiting for
- * scheduled polling or webhook events.
+ * scheduled polling or webhook events. The pull goes through the {@link PopulateScheduler}, so it is merged
+ * with any other pending trigger, but starts without waiting for the quiet window. The caller waits for the pull,
+ * so it must run on a blocking thread.
  *
  * @author Le Gall Benoît
  * @since 1.2.0
  * @see GitPull
+ * @see PopulateScheduler
  */
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class ForcePullHandler {
 
-    private final GitPull gitPull;
+    private final PopulateScheduler populateScheduler;
 
     /**
      * Handles a manual pull request by triggering a forced git pull.
@@ -36,7 +40,7 @@ public class ForcePullHandler {
      * @return {@link HttpResponse#ok()} after the pull operation completes
      */
     public HttpResponse<Void> handle() {
-        gitPull.pull(FORCED);
+        populateScheduler.schedule(FORCED).toCompletableFuture().join();
         return HttpResponse.ok();
     }
 }
@@ -0,0 +1,90 @@
+package com.frogdevelopment.consul.populate.git.endpoint.handlers;
+
+import static com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery.State.FAILURE;
+import static com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery.State.QUEUED;
+import static com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery.State.SUCCESS;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.SequencedMap;
+
+import jakarta.inject.Singleton;
+
+import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery;
+import com.frogdevelopment.consul.populate.git.pull.Status;
+
+/**
+ * Bounded queue of the webhook deliveries waiting for their pull, keeping track of their status.
+ *
+ * <p>At most {@link GitProperties.Webhook#getQueueCapacity() queue capacity} deliveries can be queued at once,
+ * further ones being rejected until the pending pulls are done. A redelivery of a queued delivery is accepted
+ * without taking more room. The same number of completed deliveries is kept, the oldest ones being evicted first.
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ * @see WebhookHandler
+ */
+@Singleton
+@RequiredArgsConstructor
+public class WebhookDeliveries {
+
+    private final GitProperties gitProperties;
+
+    private final SequencedMap<String, WebhookDelivery> queued = new LinkedHashMap<>();
+    private final SequencedMap<String, WebhookDelivery> completed = new LinkedHashMap<>();
+
+    /**
+     * Queues a delivery if there is room left.
+     *
+     * @param id the delivery identifier
+     * @return true if the delivery is queued, false when the queue is full
+     */
+    public synchronized boolean offer(final String id) {
+        if (queued.containsKey(id)) {
+            return true;
+        }
+        if (queued.size() >= capacity()) {
+            return false;
+        }
+        completed.remove(id);
+        queued.put(id, new WebhookDelivery(id, Instant.now().toString(), QUEUED, null));
+        return true;
+    }
+
+    /**
+     * Records the outcome of the pull requested by a queued delivery.
+     *
+     * @param id     the delivery identifier
+     * @param status the outcome of the pull
+     */
+    public synchronized void complete(final String id, final Status status) {
+        final var delivery = queued.remove(id);
+        if (delivery == null) {
+            return;
+        }
+        final var state = status == Status.SUCCESS ? SUCCESS : FAILURE;
+        completed.put(id, new WebhookDelivery(id, delivery.receivedAt(), state, Instant.now().toString()));
+        while (completed.size() > capacity()) {
+            completed.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Looks up a queued or completed delivery.
+     *
+     * @param id the delivery identifier
+     * @return the delivery, or empty if unknown or evicted
+     */
+    public synchronized Optional<WebhookDelivery> find(final String id) {
+        return Optional.ofNullable(queued.get(id))
+                .or(() -> Optional.ofNullable(completed.get(id)));
+    }
+
+    private int capacity() {
+        return gitProperties.getWebhook().getQueueCapacity();
+    }
+}
@@ -11,6 +11,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -21,7 +22,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.frogdevelopment.consul.populate.git.GitProperties;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.webhook.WebhookPayloadHandler;
-import com.frogdevelopment.consul.populate.git.pull.GitPull;
+import com.frogdevelopment.consul.populate.git.pull.PopulateScheduler;
 
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpRequest;
@@ -36,15 +37,21 @@ import io.micronaut.http.HttpStatus;
  *   <li>Validates the event type header matches the expected push event</li>
  *   <li>Optionally verifies the webhook signature (HMAC SHA-1 or SHA-256) if a secret is configured</li>
  *   <li>Extracts the branch name from the payload using the configured {@link WebhookPayloadHandler}</li>
- *   <li>Triggers a git pull if the branch matches the configured branch</li>
+ *   <li>Queues the delivery and schedules a git pull if the branch matches the configured branch, merged with
+ *   the other pending triggers by the {@link PopulateScheduler}</li>
  * </ol>
  *
+ * <p>The pull and the populate are done in the background: the response is sent as soon as the delivery is queued,
+ * with its identifier in the {@value #DELIVERY_ID_HEADER} header. Its status can then be looked up on
+ * {@code /git/webhook/{deliveryId}}.
+ *
  * <p>The specific header names and payload parsing are delegated to a {@link WebhookPayloadHandler}
  * implementation, allowing support for different git providers.
  *
  * <h2>Response Codes</h2>
  * <ul>
- *   <li>{@code 202 Accepted} - Webhook processed and pull triggered</li>
+ *   <li>{@code 202 Accepted} - Webhook processed and pull scheduled</li>
+ *   <li>{@code 429 Too Many Requests} - Too many deliveries are already waiting for their pull</li>
  *   <li>{@code 304 Not Modified} - Webhook ignored (wrong event type, branch mismatch, or webhook not configured)</li>
  *   <li>{@code 400 Bad Request} - Missing or invalid payload</li>
  *   <li>{@code 401 Unauthorized} - Signature verification failed or missing when secret is configured</li>
@@ -54,18 +61,22 @@ import io.micronaut.http.HttpStatus;
  * @author Le Gall Benoît
  * @since 1.2.0
  * @see WebhookPayloadHandler
- * @see GitPull
+ * @see PopulateScheduler
+ * @see WebhookDeliveries
  */
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class WebhookHandler {
 
+    static final String DELIVERY_ID_HEADER = "X-Delivery-Id";
+
     private static final Pattern REFS_HEADS_PATTERN = Pattern.compile("^refs/heads/");
 
     private final GitProperties gitProperties;
     private final ObjectMapper objectMapper;
-    private final GitPull gitPull;
+    private final PopulateScheduler populateScheduler;
+    private final WebhookDeliveries webhookDeliveries;
     private final Optional<WebhookPayloadHandler> payloadHandler;
 
     /**
@@ -110,7 +121,7 @@ public class WebhookHandler {
             }
         }
 
-        return triggerPullingIfNeeded(stringBody, handler);
+        return triggerPullingIfNeeded(request, stringBody, handler);
     }
 
     private boolean verifySignature(final String givenSignature, final String payload, final String secret) {
@@ -149,7 +160,9 @@ public class WebhookHandler {
         }
     }
 
-    private HttpResponse<Void> triggerPullingIfNeeded(final String body, final WebhookPayloadHandler handler) {
+    private HttpResponse<Void> triggerPullingIfNeeded(final HttpRequest<?> request,
+                                                      final String body,
+                                                      final WebhookPayloadHandler handler) {
         try {
             final var jsonNode = objectMapper.readTree(body);
             final var branchName = handler.extractBranchName(jsonNode);
@@ -163,9 +176,7 @@ public class WebhookHandler {
                     });
 
             if (toPull) {
-                gitPull.pull(WEBHOOK);
-                log.info("Webhook triggered pull for branch: {}", gitProperties.getBranch());
-                return HttpResponse.accepted();
+                return schedulePull(deliveryId(request, handler));
             } else {
                 log.debug("Webhook ignored - branch mismatch (received: {}, expected: {})",
                         branchName.orElse("unknown"), gitProperties.getBranch());
@@ -176,4 +187,23 @@ public class WebhookHandler {
             return HttpResponse.badRequest();
         }
     }
+
+    private HttpResponse<Void> schedulePull(final String deliveryId) {
+        if (!webhookDeliveries.offer(deliveryId)) {
+            log.warn("Webhook delivery {} rejected, too many deliveries are waiting for their pull", deliveryId);
+            return HttpResponse.status(HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        populateScheduler.schedule(WEBHOOK)
+                .thenAccept(status -> webhookDeliveries.complete(deliveryId, status));
+        log.info("Webhook delivery {} scheduled pull for branch: {}", deliveryId, gitProperties.getBranch());
+        return HttpResponse.<Void>accepted().header(DELIVERY_ID_HEADER, deliveryId);
+    }
+
+    private static String deliveryId(final HttpRequest<?> request, final WebhookPayloadHandler handler) {
+        return Optional.ofNullable(handler.getDeliveryHeaderKey())
+                .map(request.getHeaders()::get)
+                .filter(StringUtils::isNotEmpty)
+                .orElseGet(() -> UUID.randomUUID().toString());
+    }
 }
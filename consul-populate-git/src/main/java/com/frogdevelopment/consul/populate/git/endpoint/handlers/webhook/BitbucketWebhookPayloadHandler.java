@@ -18,6 +18,7 @@ import io.micronaut.context.annotation.Requires;
  *   <li>Event header: X-Event-Key</li>
  *   <li>Push event value: repo:push</li>
  *   <li>Signature header: X-Hub-Signature (SHA-256)</li>
+ *   <li>Delivery header: X-Request-UUID</li>
  *   <li>Branch location: push.changes[].new.name</li>
  * </ul>
  *
@@ -33,6 +34,7 @@ public class BitbucketWebhookPayloadHandler implements WebhookPayloadHandler {
     private static final String EVENT_HEADER_KEY = "X-Event-Key";
     private static final String EXPECTED_EVENT_VALUE = "repo:push";
     private static final String SIGNATURE_HEADER_KEY = "X-Hub-Signature";
+    private static final String DELIVERY_HEADER_KEY = "X-Request-UUID";
 
     @Override
     public String getEventHeaderKey() {
@@ -49,6 +51,11 @@ public class BitbucketWebhookPayloadHandler implements WebhookPayloadHandler {
         return SIGNATURE_HEADER_KEY;
     }
 
+    @Override
+    public String getDeliveryHeaderKey() {
+        return DELIVERY_HEADER_KEY;
+    }
+
     @Override
     public Optional<String> extractBranchName(final JsonNode payload) {
         final var pushNode = payload.get("push");
@@ -18,6 +18,7 @@ import io.micronaut.context.annotation.Requires;
  *   <li>Event header: X-GitHub-Event</li>
  *   <li>Push event value: push</li>
  *   <li>Signature header: X-Hub-Signature-256 (SHA-256)</li>
+ *   <li>Delivery header: X-GitHub-Delivery</li>
  *   <li>Branch location: ref field (e.g., "refs/heads/main")</li>
  * </ul>
  *
@@ -33,6 +34,7 @@ public class GithubWebhookPayloadHandler implements WebhookPayloadHandler {
     private static final String EVENT_HEADER_KEY = "X-GitHub-Event";
     private static final String EXPECTED_EVENT_VALUE = "push";
     private static final String SIGNATURE_HEADER_KEY = "X-Hub-Signature-256";
+    private static final String DELIVERY_HEADER_KEY = "X-GitHub-Delivery";
 
     @Override
     public String getEventHeaderKey() {
@@ -49,6 +51,11 @@ public class GithubWebhookPayloadHandler implements WebhookPayloadHandler {
         return SIGNATURE_HEADER_KEY;
     }
 
+    @Override
+    public String getDeliveryHeaderKey() {
+        return DELIVERY_HEADER_KEY;
+    }
+
     @Override
     public Optional<String> extractBranchName(final JsonNode payload) {
         final var refNode = payload.get("ref");
@@ -4,6 +4,8 @@ import java.util.Optional;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import io.micronaut.core.annotation.Nullable;
+
 /**
  * Strategy interface for handling provider-specific webhook payloads.
  *
@@ -39,6 +41,18 @@ public interface WebhookPayloadHandler {
      */
     String getSignatureHeaderKey();
 
+    /**
+     * Returns the HTTP header key holding the unique identifier of the delivery, used to look up its status.
+     * When the provider does not send one, an identifier is generated for each delivery.
+     *
+     * @return the delivery header key (e.g., "X-GitHub-Delivery", "X-Request-UUID"), or null if none
+     * @since 1.3.0
+     */
+    @Nullable
+    default String getDeliveryHeaderKey() {
+        return null;
+    }
+
     /**
      * Extracts the branch name from the webhook payload.
      *
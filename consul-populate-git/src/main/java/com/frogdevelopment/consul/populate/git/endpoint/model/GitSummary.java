@@ -1,5 +1,7 @@
 package com.frogdevelopment.consul.populate.git.endpoint.model;
 
+import java.util.Set;
+
 import com.frogdevelopment.consul.populate.files.ImportFileProperties;
 import com.frogdevelopment.consul.populate.git.pull.Status;
 import com.frogdevelopment.consul.populate.git.pull.Trigger;
@@ -58,6 +60,7 @@ public record GitSummary(
      * @param scheduled        whether scheduled polling is enabled
      * @param scheduledInterval the polling interval as an ISO-8601 duration string, or null if disabled
      * @param trigger          the source of the last pull operation
+     * @param triggers         all the sources merged into the last pull operation
      * @param lastPullTime     the timestamp of the last pull as an ISO-8601 string
      * @param lastPullDuration the duration of the last pull formatted as "ss.SSS's"
      * @param lastPullOutcome  the outcome status of the last pull
@@ -66,6 +69,7 @@ public record GitSummary(
             boolean scheduled,
             String scheduledInterval,
             Trigger trigger,
+            Set<Trigger> triggers,
             String lastPullTime,
             String lastPullDuration,
             Status lastPullOutcome
@@ -12,8 +12,11 @@ import org.eclipse.jgit.transport.URIish;
 
 import com.frogdevelopment.consul.populate.git.GitProperties;
 import com.frogdevelopment.consul.populate.git.RepositoryDirectoryProvider;
+import com.frogdevelopment.consul.populate.git.SparseCheckout;
 import com.frogdevelopment.consul.populate.git.pull.GitPull;
 
+import io.micronaut.core.util.StringUtils;
+
 /**
  * Provider for generating {@link GitSummary} instances containing the current state
  * of the Git repository and pull configuration.
@@ -82,7 +85,16 @@ public class GitSummaryProvider {
                     );
                 }
             }
-            dirty = !git.status().call().isClean();
+            // a bare repository has no working tree
+            if (!gitProperties.getClone().isBare()) {
+                final var statusCommand = git.status();
+                final var checkoutPath = SparseCheckout.path(gitProperties);
+                if (StringUtils.isNotEmpty(checkoutPath)) {
+                    // the files outside the checked out path are missing on purpose
+                    statusCommand.addPath(checkoutPath);
+                }
+                dirty = !statusCommand.call().isClean();
+            }
         } catch (final Exception e) {
             // Keep head as null and dirty as false on errors to avoid failing the endpoint
             log.error("Error while trying to gather repository info", e);
@@ -111,6 +123,7 @@ public class GitSummaryProvider {
                 gitProperties.isPollEnabled(),
                 gitProperties.isPollEnabled() ? gitProperties.getPollInterval().toString() : null,
                 gitPull.getTrigger(),
+                gitPull.getTriggers(),
                 gitPull.getLastPullTime(),
                 gitPull.getLastPullDuration(),
                 gitPull.getLastPullOutcome()
@@ -0,0 +1,31 @@
+package com.frogdevelopment.consul.populate.git.endpoint.model;
+
+/**
+ * Status of a webhook delivery accepted by the {@code /git/webhook} endpoint, looked up by its identifier.
+ *
+ * @param id          the delivery identifier, given by the git provider or generated
+ * @param receivedAt  the timestamp at which the delivery was accepted as an ISO-8601 string
+ * @param state       the state of the pull requested by the delivery
+ * @param completedAt the timestamp at which the pull ended as an ISO-8601 string, or null while queued
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ */
+public record WebhookDelivery(
+        String id,
+        String receivedAt,
+        State state,
+        String completedAt
+) {
+
+    /**
+     * State of the pull requested by a delivery.
+     */
+    public enum State {
+        /** Waiting for the pull, possibly merged with other triggers */
+        QUEUED,
+        /** Pulled and populated successfully */
+        SUCCESS,
+        /** The pull or the populate failed */
+        FAILURE
+    }
+}
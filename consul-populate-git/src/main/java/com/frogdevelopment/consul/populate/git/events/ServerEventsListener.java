@@ -5,8 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import jakarta.inject.Singleton;
 
-import com.frogdevelopment.consul.populate.PopulateService;
 import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.pull.GitPull;
 import com.frogdevelopment.consul.populate.git.pull.GitPullJob;
 
 import io.micronaut.core.annotation.Blocking;
@@ -20,7 +20,8 @@ import io.micronaut.scheduling.annotation.Async;
  *
  * <p>On server startup, this listener:
  * <ul>
- *   <li>Populates Consul with configuration from the cloned Git repository</li>
+ *   <li>Populates Consul with configuration from the cloned Git repository, through {@link GitPull} so that the
+ *   next pull populates everything again if it failed</li>
  *   <li>Starts the scheduled pull job if polling is enabled</li>
  * </ul>
  *
@@ -35,7 +36,7 @@ import io.micronaut.scheduling.annotation.Async;
 @RequiredArgsConstructor
 public class ServerEventsListener {
 
-    private final PopulateService populateService;
+    private final GitPull gitPull;
     private final GitProperties gitProperties;
     private final GitPullJob gitPullJob;
 
@@ -50,7 +51,7 @@ public class ServerEventsListener {
     @EventListener
     public void onServerStartupEvent(final ServerStartupEvent ignored) {
         log.info("Populating Consul with repository");
-        populateService.populate();
+        gitPull.populate();
 
         if (gitProperties.isPollEnabled()) {
             gitPullJob.start();
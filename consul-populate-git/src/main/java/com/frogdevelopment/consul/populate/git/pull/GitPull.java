@@ -6,23 +6,52 @@ import static com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.inject.Singleton;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.PopulateService;
+import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.SparseCheckout;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
 
 /**
  * Executes git pull operations and tracks pull statistics.
  *
  * <p>This class is responsible for:
  * <ul>
- *   <li>Executing git pull commands against the cloned repository</li>
- *   <li>Tracking the last pull trigger, time, duration, and outcome</li>
+ *   <li>Executing git pull commands against the cloned repository, or fetching and updating only the files under
+ *   the root path when only those are checked out, see {@link SparseCheckout}, or only fetching when the repository
+ *   is bare</li>
+ *   <li>Populating Consul with only the configuration files changed between the last populated and the new HEAD,
+ *   or with all of them when forced or when the previous populate of all of them failed</li>
+ *   <li>Tracking the last pull trigger(s), time, duration, and outcome</li>
+ *   <li>Recording the duration of each pull, by trigger and outcome, into the metrics</li>
  *   <li>Thread-safe access to pull statistics via atomic references</li>
  * </ul>
  *
@@ -37,39 +66,255 @@ import org.eclipse.jgit.api.Git;
 public class GitPull {
 
     private final Git git;
+    private final GitProperties gitProperties;
+    private final PopulateService populateService;
+    private final PopulateMetrics populateMetrics;
 
-    private final AtomicReference<Trigger> lastPullTrigger = new AtomicReference<>(null);
+    private final AtomicReference<SequencedSet<Trigger>> lastPullTriggers = new AtomicReference<>(null);
     private final AtomicReference<Instant> lastPullTimeRef = new AtomicReference<>(null);
     private final AtomicReference<Duration> lastPullDurationRef = new AtomicReference<>(null);
     private final AtomicReference<Status> lastPullOutcomeRef = new AtomicReference<>(null);
 
+    // HEAD whose configurations are in Consul, the changes being computed from it so that those of a failed populate
+    // are populated again: the HEAD before the first pull until a populate succeeds
+    private final AtomicReference<ObjectId> populatedHead = new AtomicReference<>(null);
+    // set when the populate of the whole repository failed, the content of Consul being then unknown
+    private final AtomicBoolean populateAllNeeded = new AtomicBoolean(false);
+
     /**
      * Executes a git pull operation and records the result.
+     * Only the configuration files changed since the last populated HEAD are populated into Consul, all of them when
+     * the pull is {@link Trigger#FORCED forced}.
      *
      * @param trigger the source that triggered this pull operation
      */
     public void pull(final Trigger trigger) {
+        pull(new LinkedHashSet<>(List.of(trigger)));
+    }
+
+    /**
+     * Executes a single git pull operation on behalf of several merged triggers and records the result.
+     * The first trigger, which opened the run, is the one used to tag the metrics.
+     *
+     * @param triggers the sources that triggered this pull operation, in the order they were received
+     * @return {@link Status#SUCCESS} if the pull, and the populate of its changes, succeeded
+     * @see PopulateScheduler
+     * @since 1.3.0
+     */
+    public Status pull(final SequencedSet<Trigger> triggers) {
+        final var trigger = triggers.getFirst();
         try {
-            lastPullTrigger.set(trigger);
-            log.debug("Pull repository: {}", trigger);
+            lastPullTriggers.set(triggers);
+            log.debug("Pull repository: {}", triggers);
+            final var repository = git.getRepository();
+            final var oldHead = repository.resolve(Constants.HEAD);
             final var now = Instant.now();
             lastPullTimeRef.set(now);
-            final var pullStatus = git.pull().call().isSuccessful() ? SUCCESS : FAILURE;
-            lastPullDurationRef.set(Duration.between(now, Instant.now()));
+            final var pullStatus = pullRepository() ? SUCCESS : FAILURE;
+            final var duration = Duration.between(now, Instant.now());
+            lastPullDurationRef.set(duration);
             lastPullOutcomeRef.set(pullStatus);
+            populateMetrics.pulled(trigger.name(), pullStatus.name(), duration);
             log.debug("Repository updated: {}", pullStatus);
+
+            if (pullStatus == SUCCESS) {
+                populateChanges(triggers, oldHead, repository.resolve(Constants.HEAD));
+            }
+            return pullStatus;
         } catch (final Exception e) {
             log.error("Pull operation encountered an error. Please check logs", e);
+            return FAILURE;
+        }
+    }
+
+    private boolean pullRepository() throws GitAPIException, IOException {
+        if (gitProperties.getClone().isBare()) {
+            // the fetch moves the branch itself, there is no working tree to update
+            git.fetch().setRemote(Constants.DEFAULT_REMOTE_NAME).call();
+            return true;
+        }
+
+        final var checkoutPath = SparseCheckout.path(gitProperties);
+        if (StringUtils.isNotEmpty(checkoutPath)) {
+            // only the files under the root path are kept in the working tree
+            return SparseCheckout.fastForward(git, gitProperties.getBranch(), checkoutPath);
+        }
+        return git.pull().call().isSuccessful();
+    }
+
+    /**
+     * Populates Consul with the whole repository at its current HEAD, like on startup. On failure, the next pull
+     * populates the whole repository again, instead of only its changes.
+     *
+     * @return {@link Status#SUCCESS} if the populate succeeded
+     * @since 1.3.0
+     */
+    public Status populate() {
+        try {
+            populateAll(git.getRepository().resolve(Constants.HEAD));
+            return SUCCESS;
+        } catch (final Exception e) {
+            populateAllNeeded.set(true);
+            log.error("Populate operation encountered an error. Please check logs", e);
+            return FAILURE;
+        }
+    }
+
+    private void populateChanges(final Set<Trigger> triggers, final ObjectId oldHead, final ObjectId newHead) {
+        if (triggers.contains(Trigger.FORCED)) {
+            log.info("Pull forced, populating the whole repository");
+            populateAll(newHead);
+            return;
+        }
+        if (populateAllNeeded.get()) {
+            log.info("Previous populate failed, populating the whole repository");
+            populateAll(newHead);
+            return;
+        }
+
+        final var fromHead = Optional.ofNullable(populatedHead.get()).orElse(oldHead);
+        if (Objects.equals(fromHead, newHead)) {
+            log.debug("HEAD did not move, nothing to populate");
+            return;
+        }
+
+        if (fromHead == null) {
+            log.info("No previous HEAD, populating the whole repository");
+            populateAll(newHead);
+            return;
+        }
+
+        final Set<String> changedKeys;
+        try {
+            changedKeys = changedKeys(fromHead, newHead);
+        } catch (final IOException e) {
+            log.warn("Unable to compute the changes between {} and {}, populating the whole repository",
+                    fromHead.name(), newHead.name(), e);
+            populateAll(newHead);
+            return;
         }
+
+        if (changedKeys.isEmpty()) {
+            log.info("No configuration changed between {} and {}", fromHead.abbreviate(7).name(), newHead.abbreviate(7).name());
+            populatedHead.set(newHead);
+        } else {
+            log.info("Changes detected in repository for keys: {}", changedKeys);
+            // on failure, the same changes, and the next ones, are computed again on the next pull
+            populatedHead.set(fromHead);
+            populateService.populate(changedKeys);
+            populatedHead.set(newHead);
+        }
+    }
+
+    private void populateAll(final ObjectId newHead) {
+        try {
+            populateService.populate();
+        } catch (final RuntimeException e) {
+            populateAllNeeded.set(true);
+            throw e;
+        }
+        populateAllNeeded.set(false);
+        populatedHead.set(newHead);
+    }
+
+    /**
+     * @return keys of the configuration files, in root or target directories, added/modified/deleted between both
+     * commits. A key changed in any of the additional targets makes all of them populated
+     */
+    private Set<String> changedKeys(final ObjectId oldHead, final ObjectId newHead) throws IOException {
+        final var fileProperties = gitProperties.getFileProperties();
+        final var rootDirectory = SparseCheckout.toGitPath(fileProperties.getRootPath());
+        final var targetDirectories = new ArrayList<String>();
+        targetDirectories.add(StringUtils.isEmpty(fileProperties.getTarget())
+                ? rootDirectory
+                : SparseCheckout.toGitPath(Path.of(rootDirectory, fileProperties.getTarget()).toString()));
+        fileProperties.getTargets()
+                .forEach(target -> targetDirectories.add(SparseCheckout.toGitPath(Path.of(rootDirectory, target.getName()).toString())));
+        final var excludedDirectories = fileProperties.getExcludedDirectories()
+                .stream()
+                .map(excluded -> SparseCheckout.toGitPath(Path.of(rootDirectory, excluded).toString()))
+                .toList();
+
+        final var keys = new HashSet<String>();
+        for (final var entry : SparseCheckout.diff(git, oldHead, newHead, rootDirectory)) {
+            for (final var path : List.of(entry.getOldPath(), entry.getNewPath())) {
+                if (DiffEntry.DEV_NULL.equals(path)) {
+                    continue;
+                }
+                final var relativePath = fileProperties.isRecursive()
+                        ? relativePath(path, rootDirectory, targetDirectories, excludedDirectories)
+                        : directRelativePath(path, rootDirectory, targetDirectories);
+                if (relativePath != null) {
+                    keys.add(FilenameUtils.removeExtension(relativePath));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return the name of the file if directly in the root or a target directory, the only ones imported, null otherwise
+     */
+    @Nullable
+    private static String directRelativePath(final String path,
+                                             final String rootDirectory,
+                                             final List<String> targetDirectories) {
+        final var directory = SparseCheckout.toGitPath(FilenameUtils.getPathNoEndSeparator(path));
+        if (directory.equals(rootDirectory) || targetDirectories.contains(directory)) {
+            return FilenameUtils.getName(path);
+        }
+        return null;
     }
 
     /**
-     * Returns the trigger source of the last pull operation.
+     * @return the path of the file relative to a target directory if under it, else relative to the root directory
+     * if not under an excluded one, null otherwise
+     */
+    @Nullable
+    private static String relativePath(final String path,
+                                       final String rootDirectory,
+                                       final List<String> targetDirectories,
+                                       final List<String> excludedDirectories) {
+        for (final var targetDirectory : targetDirectories) {
+            if (!targetDirectory.equals(rootDirectory) && isUnder(path, targetDirectory)) {
+                return relativize(targetDirectory, path);
+            }
+        }
+        if (excludedDirectories.stream().anyMatch(excluded -> isUnder(path, excluded))) {
+            return null;
+        }
+        return relativize(rootDirectory, path);
+    }
+
+    private static boolean isUnder(final String path, final String directory) {
+        return directory.isEmpty() || path.startsWith(directory + "/");
+    }
+
+    private static String relativize(final String directory, final String path) {
+        return directory.isEmpty() ? path : path.substring(directory.length() + 1);
+    }
+
+    /**
+     * Returns the trigger source of the last pull operation, the first one when several triggers were merged.
      *
      * @return the last pull trigger, or null if no pull has occurred
      */
     public Trigger getTrigger() {
-        return lastPullTrigger.get();
+        return Optional.ofNullable(lastPullTriggers.get())
+                .map(SequencedSet::getFirst)
+                .orElse(null);
+    }
+
+    /**
+     * Returns all the trigger sources merged into the last pull operation, in the order they were received.
+     *
+     * @return the last pull triggers, or an empty set if no pull has occurred
+     * @since 1.3.0
+     */
+    public Set<Trigger> getTriggers() {
+        return Optional.ofNullable(lastPullTriggers.get())
+                .<Set<Trigger>>map(Collections::unmodifiableSequencedSet)
+                .orElseGet(Set::of);
     }
 
     /**
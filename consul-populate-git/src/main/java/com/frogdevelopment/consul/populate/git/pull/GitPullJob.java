@@ -13,17 +13,15 @@ import java.util.concurrent.atomic.AtomicReference;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
-import org.eclipse.jgit.api.Git;
-
-import com.frogdevelopment.consul.populate.PopulateService;
 import com.frogdevelopment.consul.populate.git.GitProperties;
 
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.TaskScheduler;
 
 /**
- * Orchestrates git repository population and optional pull for changes.
- * Triggers Consul population and sets up scheduled pulls when pull is enabled.
+ * Sets up scheduled pulls when pull is enabled.
+ * The pulls are submitted to the {@link PopulateScheduler}, merging them with the other triggers,
+ * and Consul population of the changes is handled by {@link GitPull}.
  *
  * @author Le Gall Benoît
  * @since 1.2.0
@@ -34,11 +32,9 @@ import io.micronaut.scheduling.TaskScheduler;
 public class GitPullJob {
 
     private final GitProperties gitProperties;
-    private final PopulateService populateService;
     @Named(TaskExecutors.SCHEDULED)
     private final TaskScheduler taskScheduler;
-    private final Git git;
-    private final GitPull gitPull;
+    private final PopulateScheduler populateScheduler;
 
     private final AtomicReference<ScheduledFuture<?>> scheduledFutureRef = new AtomicReference<>();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
@@ -56,12 +52,6 @@ public class GitPullJob {
 
         stopping.set(false);
 
-        log.info("Listening for index changes in repository");
-        git.getRepository().getListenerList().addIndexChangedListener(indexEvent -> {
-            log.info("Changes detected in repository");
-            populateService.populate();
-        });
-
         final var interval = gitProperties.getPollInterval();
         log.debug("Scheduling pull command with fixed scheduledInterval={}", interval);
         final var scheduledFuture = taskScheduler.scheduleWithFixedDelay(Duration.ZERO, interval, this::pull);
@@ -74,7 +64,7 @@ public class GitPullJob {
             return;
         }
 
-        gitPull.pull(SCHEDULED);
+        populateScheduler.schedule(SCHEDULED);
     }
 
     /**
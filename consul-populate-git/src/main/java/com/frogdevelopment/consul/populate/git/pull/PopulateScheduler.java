@@ -0,0 +1,126 @@
+package com.frogdevelopment.consul.populate.git.pull;
+
+import static com.frogdevelopment.consul.populate.git.pull.Status.FAILURE;
+import static com.frogdevelopment.consul.populate.git.pull.Trigger.FORCED;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.SequencedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import com.frogdevelopment.consul.populate.git.GitProperties;
+
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+
+/**
+ * Single-flight scheduler collapsing bursts of pull triggers (webhooks, forced pulls and scheduled polls) into one
+ * {@link GitPull#pull(SequencedSet) pull}, and so into one populate:
+ * <ul>
+ *   <li>a trigger starts a run once no other trigger has been received during the
+ *   {@link GitProperties#getQuietWindow() quiet window}, the window not being restarted anymore once it would
+ *   delay the first pending trigger beyond the {@link GitProperties#getMaxWait() maximum wait}</li>
+ *   <li>a {@link Trigger#FORCED forced} trigger starts a run without waiting for the quiet window</li>
+ *   <li>at most one run is in flight: triggers received meanwhile are merged into a single follow-up run, scheduled
+ *   after the quiet window once the current run is done</li>
+ *   <li>the sources of the merged triggers are recorded by the run, in the order they were received</li>
+ * </ul>
+ *
+ * @author Le Gall Benoît
+ * @since 1.3.0
+ * @see GitPull
+ */
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class PopulateScheduler {
+
+    private final GitProperties gitProperties;
+    @Named(TaskExecutors.SCHEDULED)
+    private final TaskScheduler taskScheduler;
+    private final GitPull gitPull;
+
+    private SequencedSet<Trigger> pendingTriggers = new LinkedHashSet<>();
+    private CompletableFuture<Status> pendingRun = new CompletableFuture<>();
+    private ScheduledFuture<?> scheduledRun;
+    // System.nanoTime() when the first of the pending triggers was received
+    private long firstPendingAt;
+    private boolean running;
+
+    /**
+     * Schedules a pull, merged with the other triggers received within the quiet window or while a run is in flight.
+     *
+     * @param trigger the source requesting the pull
+     * @return a stage completed with the outcome of the run including this trigger
+     */
+    public synchronized CompletionStage<Status> schedule(final Trigger trigger) {
+        if (pendingTriggers.isEmpty()) {
+            firstPendingAt = System.nanoTime();
+        }
+        pendingTriggers.add(trigger);
+        if (running) {
+            log.debug("Pull in flight, {} merged into the follow-up run: {}", trigger, pendingTriggers);
+        } else {
+            scheduleRun();
+        }
+        return pendingRun.copy();
+    }
+
+    private void scheduleRun() {
+        final var forced = pendingTriggers.contains(FORCED);
+        final var delay = forced ? Duration.ZERO : gitProperties.getQuietWindow();
+        if (scheduledRun != null) {
+            if (!forced && System.nanoTime() - firstPendingAt + delay.toNanos() > gitProperties.getMaxWait().toNanos()) {
+                // the run already scheduled starts within the maximum wait, restarting the window would not
+                return;
+            }
+            // restarts the quiet window
+            scheduledRun.cancel(false);
+        }
+        // the run only goes on if it is still the scheduled one, and not one cancelled too late
+        final var self = new AtomicReference<ScheduledFuture<?>>();
+        scheduledRun = taskScheduler.schedule(delay, () -> run(self));
+        self.set(scheduledRun);
+    }
+
+    private void run(final AtomicReference<ScheduledFuture<?>> self) {
+        final SequencedSet<Trigger> triggers;
+        final CompletableFuture<Status> completion;
+        synchronized (this) {
+            if (running || scheduledRun != self.get() || pendingTriggers.isEmpty()) {
+                return;
+            }
+            running = true;
+            scheduledRun = null;
+            triggers = pendingTriggers;
+            completion = pendingRun;
+            pendingTriggers = new LinkedHashSet<>();
+            pendingRun = new CompletableFuture<>();
+        }
+
+        var status = FAILURE;
+        try {
+            if (triggers.size() > 1) {
+                log.info("Coalescing triggers {} into a single pull", triggers);
+            }
+            status = gitPull.pull(triggers);
+        } finally {
+            completion.complete(status);
+            synchronized (this) {
+                running = false;
+                if (!pendingTriggers.isEmpty()) {
+                    scheduleRun();
+                }
+            }
+        }
+    }
+}
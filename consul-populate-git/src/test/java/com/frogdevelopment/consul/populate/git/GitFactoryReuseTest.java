@@ -0,0 +1,171 @@
+package com.frogdevelopment.consul.populate.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GitFactoryReuseTest {
+
+    @Mock
+    private RepositoryDirectoryProvider repositoryDirectoryProvider;
+
+    @TempDir
+    private Path tempDir;
+
+    private final GitFactory gitFactory = new GitFactory();
+    private final GitProperties gitProperties = new GitProperties();
+    private Git origin;
+    private Path repositoryDirectory;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        origin = Git.init().setDirectory(tempDir.resolve("origin").toFile()).setInitialBranch("main").call();
+        write("config/application.yaml", "application: 1");
+        commit("initial");
+
+        gitProperties.setUri(tempDir.resolve("origin").toUri().toString());
+        gitProperties.setToken("token");
+        gitProperties.setReuseLocalRepository(true);
+        repositoryDirectory = tempDir.resolve("local/origin");
+        given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
+
+        // clone left by a previous run
+        gitFactory.git(gitProperties, repositoryDirectoryProvider).close();
+        Files.writeString(repositoryDirectory.resolve("marker"), "previous run");
+    }
+
+    @AfterEach
+    void afterEach() {
+        origin.close();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        var file = tempDir.resolve("origin").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void commit(final String message) throws GitAPIException {
+        origin.add().addFilepattern(".").call();
+        origin.commit().setMessage(message).setAuthor("test", "test@frog.dev").setSign(false).call();
+    }
+
+    @Test
+    void shouldReuseAndFastForward_existingRepository() throws Exception {
+        // given
+        write("config/application.yaml", "application: 2");
+        commit("update");
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(repositoryDirectory.resolve("marker")).exists();
+            assertThat(repositoryDirectory.resolve("config/application.yaml")).hasContent("application: 2");
+            assertThat(git.getRepository().resolve("HEAD")).isEqualTo(origin.getRepository().resolve("HEAD"));
+        }
+    }
+
+    @Test
+    void shouldReuseFromLocalHead_whenRemoteCanNotBeFetched() throws Exception {
+        // given
+        var head = origin.getRepository().resolve("HEAD");
+        Files.move(tempDir.resolve("origin"), tempDir.resolve("unreachable"));
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(repositoryDirectory.resolve("marker")).exists();
+            assertThat(repositoryDirectory.resolve("config/application.yaml")).hasContent("application: 1");
+            assertThat(git.getRepository().resolve("HEAD")).isEqualTo(head);
+        }
+    }
+
+    @Test
+    void shouldCloneAgain_whenRepositoryIsCorrupted() throws Exception {
+        // given
+        try (var packs = Files.list(repositoryDirectory.resolve(".git/objects/pack"))) {
+            for (var pack : packs.toList()) {
+                Files.delete(pack);
+            }
+        }
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(repositoryDirectory.resolve("marker")).doesNotExist();
+            assertThat(repositoryDirectory.resolve("config/application.yaml")).hasContent("application: 1");
+            assertThat(git.getRepository().resolve("HEAD")).isEqualTo(origin.getRepository().resolve("HEAD"));
+        }
+    }
+
+    @Test
+    void shouldCloneAgain_whenClonedFromAnotherRemote() throws Exception {
+        // given
+        try (var other = Git.init().setDirectory(tempDir.resolve("other").toFile()).setInitialBranch("main").call()) {
+            Files.writeString(tempDir.resolve("other/application.yaml"), "application: other");
+            other.add().addFilepattern(".").call();
+            other.commit().setMessage("other").setAuthor("test", "test@frog.dev").setSign(false).call();
+        }
+        gitProperties.setUri(tempDir.resolve("other").toUri().toString());
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(repositoryDirectory.resolve("marker")).doesNotExist();
+            assertThat(repositoryDirectory.resolve("application.yaml")).hasContent("application: other");
+        }
+    }
+
+    @Test
+    void shouldCloneAgain_whenOnAnotherBranch() throws Exception {
+        // given
+        origin.branchCreate().setName("develop").call();
+        gitProperties.setBranch("develop");
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(repositoryDirectory.resolve("marker")).doesNotExist();
+            assertThat(git.getRepository().getBranch()).isEqualTo("develop");
+        }
+    }
+
+    @Test
+    void shouldCloneBareAgain_thenReuseIt() throws Exception {
+        // given
+        gitProperties.getClone().setBare(true);
+        gitFactory.git(gitProperties, repositoryDirectoryProvider).close();
+        Files.writeString(repositoryDirectory.resolve("marker"), "previous run");
+        write("config/application.yaml", "application: 2");
+        commit("update");
+
+        // when
+        try (var git = gitFactory.git(gitProperties, repositoryDirectoryProvider)) {
+
+            // then
+            assertThat(git.getRepository().isBare()).isTrue();
+            assertThat(repositoryDirectory.resolve("marker")).exists();
+            assertThat(repositoryDirectory.resolve("config")).doesNotExist();
+            assertThat(git.getRepository().resolve("HEAD")).isEqualTo(origin.getRepository().resolve("HEAD"));
+        }
+    }
+}
@@ -3,15 +3,22 @@ package com.frogdevelopment.consul.populate.git;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 
+import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
@@ -19,11 +26,14 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.frogdevelopment.consul.populate.files.ImportFileProperties;
+
 @ExtendWith(MockitoExtension.class)
 class GitFactoryTest {
 
@@ -31,7 +41,7 @@ class GitFactoryTest {
     private GitProperties gitProperties;
     @Mock
     private RepositoryDirectoryProvider repositoryDirectoryProvider;
-    @Mock
+    @Mock(answer = Answers.RETURNS_SELF)
     private CloneCommand cloneCommand;
     @Mock
     private Git git;
@@ -61,6 +71,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("my-token");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -93,6 +104,7 @@ class GitFactoryTest {
         given(gitProperties.getPassword()).willReturn("password");
         given(gitProperties.getBranch()).willReturn("develop");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -117,6 +129,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("my-token");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -146,6 +159,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("token");
         given(gitProperties.getBranch()).willReturn(branch);
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -177,6 +191,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("token");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -202,6 +217,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("token");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -225,6 +241,7 @@ class GitFactoryTest {
         given(gitProperties.getToken()).willReturn("token");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -252,6 +269,7 @@ class GitFactoryTest {
         given(gitProperties.getPassword()).willReturn("pass");
         given(gitProperties.getBranch()).willReturn("main");
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDir);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
         given(cloneCommand.setURI(any())).willReturn(cloneCommand);
@@ -267,4 +285,113 @@ class GitFactoryTest {
         // then
         assertThat(result).isSameAs(git);
     }
+
+    @Test
+    void shouldCloneSingleBranch_withDepth() throws GitAPIException {
+        // given
+        var cloneProperties = new GitProperties.Clone();
+        cloneProperties.setSingleBranch(true);
+        cloneProperties.setDepth(1);
+        givenCloneCommand("main", cloneProperties);
+
+        // when
+        gitFactory.git(gitProperties, repositoryDirectoryProvider);
+
+        // then
+        then(cloneCommand).should().setNoCheckout(false);
+        then(cloneCommand).should().setCloneAllBranches(false);
+        then(cloneCommand).should().setBranchesToClone(List.of("refs/heads/main"));
+        then(cloneCommand).should().setDepth(1);
+        then(git).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldCloneAllBranches_withWholeHistory() throws GitAPIException {
+        // given
+        var cloneProperties = new GitProperties.Clone();
+        givenCloneCommand("main", cloneProperties);
+
+        // when
+        gitFactory.git(gitProperties, repositoryDirectoryProvider);
+
+        // then
+        then(cloneCommand).should(never()).setCloneAllBranches(anyBoolean());
+        then(cloneCommand).should(never()).setBranchesToClone(any());
+        then(cloneCommand).should(never()).setDepth(anyInt());
+    }
+
+    @Test
+    void shouldCheckoutRootPathOnly() throws GitAPIException {
+        // given
+        var cloneProperties = new GitProperties.Clone();
+        cloneProperties.setCheckoutRootPathOnly(true);
+        givenCloneCommand("main", cloneProperties);
+        var fileProperties = new ImportFileProperties();
+        fileProperties.setRootPath("./config/");
+        given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        var resetCommand = mock(ResetCommand.class, Answers.RETURNS_SELF);
+        var checkoutCommand = mock(CheckoutCommand.class, Answers.RETURNS_SELF);
+        given(git.reset()).willReturn(resetCommand);
+        given(git.checkout()).willReturn(checkoutCommand);
+
+        // when
+        var result = gitFactory.git(gitProperties, repositoryDirectoryProvider);
+
+        // then
+        assertThat(result).isSameAs(git);
+        then(cloneCommand).should().setNoCheckout(true);
+        then(resetCommand).should().setMode(ResetCommand.ResetType.MIXED);
+        then(resetCommand).should().call();
+        then(checkoutCommand).should().addPath("config");
+        then(checkoutCommand).should().call();
+    }
+
+    @Test
+    void shouldCloseRepository_whenCheckoutFails() throws GitAPIException {
+        // given
+        var cloneProperties = new GitProperties.Clone();
+        cloneProperties.setCheckoutRootPathOnly(true);
+        givenCloneCommand("main", cloneProperties);
+        var fileProperties = new ImportFileProperties();
+        fileProperties.setRootPath("config");
+        given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        var resetCommand = mock(ResetCommand.class, Answers.RETURNS_SELF);
+        given(git.reset()).willReturn(resetCommand);
+        given(resetCommand.call()).willThrow(new GitAPIException("Reset failed") {});
+
+        // when/then
+        assertThatThrownBy(() -> gitFactory.git(gitProperties, repositoryDirectoryProvider))
+                .isInstanceOf(GitAPIException.class)
+                .hasMessage("Reset failed");
+        then(git).should().close();
+    }
+
+    @Test
+    void shouldCloneBareRepository() throws GitAPIException {
+        // given
+        var cloneProperties = new GitProperties.Clone();
+        cloneProperties.setBare(true);
+        cloneProperties.setCheckoutRootPathOnly(true);
+        givenCloneCommand("main", cloneProperties);
+
+        // when
+        var result = gitFactory.git(gitProperties, repositoryDirectoryProvider);
+
+        // then
+        assertThat(result).isSameAs(git);
+        then(cloneCommand).should().setBare(true);
+        then(cloneCommand).should(never()).setGitDir(any());
+        then(cloneCommand).should(never()).setNoCheckout(anyBoolean());
+        then(git).shouldHaveNoInteractions();
+    }
+
+    private void givenCloneCommand(final String branch, final GitProperties.Clone cloneProperties) throws GitAPIException {
+        given(gitProperties.getUri()).willReturn("https://github.com/user/repo.git");
+        given(gitProperties.getToken()).willReturn("token");
+        given(gitProperties.getBranch()).willReturn(branch);
+        given(gitProperties.getClone()).willReturn(cloneProperties);
+        given(repositoryDirectoryProvider.getRepository()).willReturn(Path.of("/tmp/repo"));
+        gitStaticMock.when(Git::cloneRepository).thenReturn(cloneCommand);
+        given(cloneCommand.call()).willReturn(git);
+    }
 }
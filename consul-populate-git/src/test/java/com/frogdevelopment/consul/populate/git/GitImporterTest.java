@@ -1,19 +1,28 @@
 package com.frogdevelopment.consul.populate.git;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mockConstruction;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import org.eclipse.jgit.api.Git;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frogdevelopment.consul.populate.DataImporter;
+import com.frogdevelopment.consul.populate.PopulateMetrics;
 import com.frogdevelopment.consul.populate.files.ImportFileProperties;
 import com.frogdevelopment.consul.populate.files.JsonFilesImporter;
 import com.frogdevelopment.consul.populate.files.PropertiesFilesImporter;
@@ -22,12 +31,16 @@ import com.frogdevelopment.consul.populate.files.YamlFilesImporter;
 @ExtendWith(MockitoExtension.class)
 class GitImporterTest {
 
+    @Mock
+    private Git git;
     @Mock
     private RepositoryDirectoryProvider repositoryDirectoryProvider;
     @Mock
     private GitProperties gitProperties;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private PopulateMetrics populateMetrics;
 
     @InjectMocks
     private GitImporter gitImporter;
@@ -43,9 +56,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             assertThat(context.arguments().get(0)).isEqualTo(repositoryDirectory);
             assertThat(context.arguments().get(1)).isEqualTo(repositoryDirectory);
             given(mock.execute()).willReturn(Map.of("key", "value"));
@@ -70,9 +84,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             assertThat(context.arguments().get(0)).isEqualTo(repositoryDirectory);
             assertThat(context.arguments().get(1)).isEqualTo(repositoryDirectory);
             given(mock.execute()).willReturn(Map.of());
@@ -96,9 +111,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             assertThat(context.arguments().get(0)).isEqualTo(repositoryDirectory.resolve("config"));
             assertThat(context.arguments().get(1)).isEqualTo(repositoryDirectory.resolve("config"));
             given(mock.execute()).willReturn(Map.of());
@@ -122,9 +138,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             assertThat(context.arguments().get(0)).isEqualTo(repositoryDirectory.resolve("config"));
             assertThat(context.arguments().get(1)).isEqualTo(repositoryDirectory.resolve("config/dev"));
             given(mock.execute()).willReturn(Map.of());
@@ -148,10 +165,13 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var jsonMock = mockConstruction(JsonFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(3);
-            assertThat(context.arguments().get(2)).isSameAs(objectMapper);
+            assertThat(context.arguments()).hasSize(5);
+            assertThat(context.arguments().get(2)).isSameAs(fileProperties);
+            assertThat(context.arguments().get(3)).isSameAs(objectMapper);
+            assertThat(context.arguments().get(4)).isSameAs(populateMetrics);
             given(mock.execute()).willReturn(Map.of("json-key", "json-value"));
         })) {
             // when
@@ -174,9 +194,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var propsMock = mockConstruction(PropertiesFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             given(mock.execute()).willReturn(Map.of("prop-key", "prop-value"));
         })) {
             // when
@@ -199,9 +220,10 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
-            assertThat(context.arguments()).hasSize(2);
+            assertThat(context.arguments()).hasSize(4);
             given(mock.execute()).willReturn(Map.of("yaml-key", "yaml-value"));
         })) {
             // when
@@ -224,6 +246,7 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var jsonMock = mockConstruction(JsonFilesImporter.class, (mock, context) -> {
             var expectedRoot = repositoryDirectory.resolve("src/main/resources");
@@ -257,6 +280,7 @@ class GitImporterTest {
 
         given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
         given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
 
         try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
             given(mock.execute()).willReturn(expectedData);
@@ -272,4 +296,97 @@ class GitImporterTest {
                     .containsEntry("app/name", "consul-populate");
         }
     }
+
+    @Test
+    void shouldReuseFilesImporter_betweenImports() {
+        // given
+        var repositoryDirectory = Path.of("/tmp/repo");
+        var fileProperties = new ImportFileProperties();
+        fileProperties.setFormat(ImportFileProperties.Format.YAML);
+
+        given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
+        given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
+
+        try (var yamlMock = mockConstruction(YamlFilesImporter.class, (mock, context) -> {
+            given(mock.execute()).willReturn(Map.of("key", "value"));
+        })) {
+            // when
+            gitImporter.execute();
+            var result = gitImporter.execute();
+
+            // then
+            assertThat(result).containsEntry("key", "value");
+            assertThat(yamlMock.constructed()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldImportAllTargets(@TempDir final Path repositoryDirectory) throws IOException {
+        // given
+        write(repositoryDirectory.resolve("config/application.yaml"), "application: root");
+        write(repositoryDirectory.resolve("config/dev/application.yaml"), "application: dev");
+        write(repositoryDirectory.resolve("config/prod/application.yaml"), "application: prod");
+        var prod = new ImportFileProperties.Target();
+        prod.setName("prod");
+        prod.setKvPrefix(Optional.of("prod"));
+        var fileProperties = new ImportFileProperties();
+        fileProperties.setRootPath("config");
+        fileProperties.setTarget("dev");
+        fileProperties.setTargets(List.of(prod));
+        fileProperties.setFormat(ImportFileProperties.Format.YAML);
+
+        given(repositoryDirectoryProvider.getRepository()).willReturn(repositoryDirectory);
+        given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
+
+        // when
+        var targets = gitImporter.targets();
+        var result = gitImporter.executeTargets();
+
+        // then
+        assertThat(targets)
+                .extracting(DataImporter.Target::name, DataImporter.Target::kvPrefix)
+                .containsExactly(
+                        tuple("dev", Optional.empty()),
+                        tuple("prod", Optional.of("prod")));
+        assertThat(result).containsOnlyKeys("dev", "prod");
+        assertThat(result.get("dev")).hasEntrySatisfying("application", value -> assertThat(value).contains("dev"));
+        assertThat(result.get("prod")).hasEntrySatisfying("application", value -> assertThat(value).contains("prod"));
+    }
+
+    private static void write(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    void shouldReadFromGitTree_whenBare() {
+        // given
+        var fileProperties = new ImportFileProperties();
+        fileProperties.setRootPath("./config/");
+        fileProperties.setTarget("production");
+        fileProperties.setFormat(ImportFileProperties.Format.PROPERTIES);
+        var cloneProperties = new GitProperties.Clone();
+        cloneProperties.setBare(true);
+
+        given(repositoryDirectoryProvider.getRepository()).willReturn(Path.of("/tmp/repo"));
+        given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        given(gitProperties.getClone()).willReturn(cloneProperties);
+
+        try (var propsMock = mockConstruction(PropertiesFilesImporter.class, (mock, context) -> {
+            assertThat(context.arguments()).hasSize(5);
+            assertThat(context.arguments().get(0)).isInstanceOf(GitTreeFilesSource.class);
+            assertThat(context.arguments().get(1)).isEqualTo(Path.of("config"));
+            assertThat(context.arguments().get(2)).isEqualTo(Path.of("config/production"));
+            given(mock.execute()).willReturn(Map.of("key", "value"));
+        })) {
+            // when
+            var result = gitImporter.execute();
+
+            // then
+            assertThat(result).containsEntry("key", "value");
+            assertThat(propsMock.constructed()).hasSize(1);
+        }
+    }
 }
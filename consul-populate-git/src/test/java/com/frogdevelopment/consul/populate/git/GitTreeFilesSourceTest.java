@@ -0,0 +1,187 @@
+package com.frogdevelopment.consul.populate.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.files.ImportFileProperties;
+import com.frogdevelopment.consul.populate.files.YamlFilesImporter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GitTreeFilesSourceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Git origin;
+    private Git bare;
+    private GitTreeFilesSource gitTreeFilesSource;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        origin = Git.init().setDirectory(tempDir.resolve("origin").toFile()).setInitialBranch("main").call();
+        write("config/application.yaml", "env: root\n");
+        write("config/service.yaml", "name: service\n");
+        write("config/README.md", "readme");
+        write("config/prod/application.yaml", "env: prod\n");
+        commit("initial");
+
+        bare = Git.cloneRepository()
+                .setURI(tempDir.resolve("origin").toUri().toString())
+                .setDirectory(tempDir.resolve("bare").toFile())
+                .setBare(true)
+                .setBranch("main")
+                .call();
+        gitTreeFilesSource = new GitTreeFilesSource(bare);
+    }
+
+    @AfterEach
+    void afterEach() {
+        origin.close();
+        bare.close();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        var file = tempDir.resolve("origin").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void commit(final String message) throws GitAPIException {
+        origin.add().addFilepattern(".").call();
+        origin.commit().setMessage(message).setAuthor("test", "test@frog.dev").setSign(false).call();
+    }
+
+    @Test
+    void shouldListAndReadFiles_ofHeadCommit() throws Exception {
+        // when
+        try (var snapshot = gitTreeFilesSource.open()) {
+
+            // then
+            assertThat(snapshot.isDirectory(Path.of(""))).isTrue();
+            assertThat(snapshot.isDirectory(Path.of("config/prod"))).isTrue();
+            assertThat(snapshot.isDirectory(Path.of("config/application.yaml"))).isFalse();
+            assertThat(snapshot.isDirectory(Path.of("config/unknown"))).isFalse();
+            assertThat(snapshot.listFiles(Path.of("config")))
+                    .containsExactlyInAnyOrder(
+                            Path.of("config/application.yaml"),
+                            Path.of("config/service.yaml"),
+                            Path.of("config/README.md"));
+            assertThat(new String(snapshot.read(Path.of("config/service.yaml")), StandardCharsets.UTF_8))
+                    .isEqualTo("name: service\n");
+            assertThat(snapshot.stamp(Path.of("config/service.yaml"))).hasSize(40);
+        }
+    }
+
+    @Test
+    void shouldWalkFiles_exceptExcludedDirectories() throws Exception {
+        // given
+        write("config/services/orders.yaml", "name: orders\n");
+        commit("services");
+        bare.fetch().setRemote("origin").call();
+
+        try (var snapshot = gitTreeFilesSource.open()) {
+
+            // when
+            var files = snapshot.walkFiles(Path.of("config"), Set.of(Path.of("config/prod")), Runnable::run);
+
+            // then
+            assertThat(files)
+                    .containsExactlyInAnyOrder(
+                            Path.of("config/application.yaml"),
+                            Path.of("config/service.yaml"),
+                            Path.of("config/README.md"),
+                            Path.of("config/services/orders.yaml"));
+            assertThat(new String(snapshot.read(Path.of("config/services/orders.yaml")), StandardCharsets.UTF_8))
+                    .isEqualTo("name: orders\n");
+        }
+    }
+
+    @Test
+    void shouldReadFile_largerThanStreamThreshold() throws Exception {
+        // given
+        var content = "key: value\n".repeat(1_000);
+        write("config/large.yaml", content);
+        commit("large");
+        bare.fetch().setRemote("origin").call();
+
+        var windowCacheConfig = new WindowCacheConfig();
+        windowCacheConfig.setStreamFileThreshold(1024);
+        windowCacheConfig.install();
+        try (var snapshot = gitTreeFilesSource.open()) {
+            snapshot.listFiles(Path.of("config"));
+
+            // when
+            var bytes = snapshot.read(Path.of("config/large.yaml"));
+
+            // then
+            assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(content);
+        } finally {
+            new WindowCacheConfig().install();
+        }
+    }
+
+    @Test
+    void shouldFail_whenFileIsNotListed() throws Exception {
+        // given
+        try (var snapshot = gitTreeFilesSource.open()) {
+
+            // when/then
+            assertThatThrownBy(() -> snapshot.read(Path.of("config/service.yaml")))
+                    .isInstanceOf(FileNotFoundException.class);
+        }
+    }
+
+    @Test
+    void shouldKeepReadingSameCommit_whenHeadMoves() throws Exception {
+        // given
+        try (var snapshot = gitTreeFilesSource.open()) {
+            write("config/service.yaml", "name: new service\n");
+            commit("update");
+            bare.fetch().setRemote("origin").call();
+
+            // when
+            snapshot.listFiles(Path.of("config"));
+            var content = snapshot.read(Path.of("config/service.yaml"));
+
+            // then
+            assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo("name: service\n");
+        }
+    }
+
+    @Test
+    void shouldImportFiles_fromObjectDatabase() throws Exception {
+        // given
+        var importer = new YamlFilesImporter(gitTreeFilesSource, Path.of("config"), Path.of("config/prod"),
+                new ImportFileProperties(), new PopulateMetrics(new SimpleMeterRegistry()));
+        importer.execute();
+        write("config/service.yaml", "name: new service\n");
+        commit("update");
+        bare.fetch().setRemote("origin").call();
+
+        // when
+        var result = importer.execute();
+
+        // then
+        assertThat(result)
+                .hasSize(2)
+                .containsEntry("application", "env: prod\n")
+                .containsEntry("service", "name: new service\n");
+    }
+}
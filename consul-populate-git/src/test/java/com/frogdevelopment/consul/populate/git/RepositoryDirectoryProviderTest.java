@@ -121,4 +121,18 @@ class RepositoryDirectoryProviderTest {
         assertThat(result.getParent()).hasParentRaw(tempDir);
         assertThat(result.getParent().getFileName().toString()).startsWith("consul-populate-");
     }
+
+    @Test
+    void shouldUseStableDirectoryInsideLocalPath_whenReusingLocalRepository() {
+        // given
+        given(gitProperties.getLocalPath()).willReturn(tempDir);
+        given(gitProperties.getUri()).willReturn("https://github.com/user/repo.git");
+        given(gitProperties.isReuseLocalRepository()).willReturn(true);
+
+        // when
+        var result = provider.getRepository();
+
+        // then
+        assertThat(result).isEqualTo(tempDir.resolve("repo"));
+    }
 }
@@ -7,6 +7,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -17,9 +19,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.ForcePullHandler;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.TogglePollHandler;
+import com.frogdevelopment.consul.populate.git.endpoint.handlers.WebhookDeliveries;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.WebhookHandler;
 import com.frogdevelopment.consul.populate.git.endpoint.model.GitSummary;
 import com.frogdevelopment.consul.populate.git.endpoint.model.GitSummaryProvider;
+import com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery;
 
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -37,6 +41,8 @@ class GitEndpointTest {
     @Mock
     private ForcePullHandler forcePullHandler;
     @Mock
+    private WebhookDeliveries webhookDeliveries;
+    @Mock
     private HttpRequest<?> httpRequest;
 
     @InjectMocks
@@ -56,6 +62,42 @@ class GitEndpointTest {
         then(gitSummaryProvider).should().generateSummary();
     }
 
+    @Test
+    void webhookDelivery_shouldReturnDelivery_whenKnown() {
+        // given
+        var delivery = new WebhookDelivery("delivery-id", "2024-01-15T10:30:00Z", WebhookDelivery.State.QUEUED, null);
+        given(webhookDeliveries.find("delivery-id")).willReturn(Optional.of(delivery));
+
+        // when
+        var result = gitEndpoint.webhookDelivery(ACTION_WEBHOOK, "delivery-id");
+
+        // then
+        assertThat(result.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+        assertThat(result.body()).isEqualTo(delivery);
+    }
+
+    @Test
+    void webhookDelivery_shouldReturnNotFound_whenUnknown() {
+        // given
+        given(webhookDeliveries.find("delivery-id")).willReturn(Optional.empty());
+
+        // when
+        var result = gitEndpoint.webhookDelivery(ACTION_WEBHOOK, "delivery-id");
+
+        // then
+        assertThat(result.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    }
+
+    @Test
+    void webhookDelivery_shouldReturnNotFound_whenActionIsNotWebhook() {
+        // when
+        var result = gitEndpoint.webhookDelivery(ACTION_FORCE_PULL, "delivery-id");
+
+        // then
+        assertThat(result.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+        then(webhookDeliveries).shouldHaveNoInteractions();
+    }
+
     @Test
     void handleGitActions_shouldDelegateToTogglePollHandler_whenActionIsTogglePoll() {
         // given
@@ -1,16 +1,21 @@
 package com.frogdevelopment.consul.populate.git.endpoint.handlers;
 
+import static com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS;
 import static com.frogdevelopment.consul.populate.git.pull.Trigger.FORCED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.frogdevelopment.consul.populate.git.pull.GitPull;
+import com.frogdevelopment.consul.populate.git.pull.PopulateScheduler;
 
 import io.micronaut.http.HttpStatus;
 
@@ -18,18 +23,23 @@ import io.micronaut.http.HttpStatus;
 class ForcePullHandlerTest {
 
     @Mock
-    private GitPull gitPull;
+    private PopulateScheduler populateScheduler;
 
     @InjectMocks
     private ForcePullHandler forcePullHandler;
 
+    @BeforeEach
+    void setUp() {
+        given(populateScheduler.schedule(FORCED)).willReturn(CompletableFuture.completedFuture(SUCCESS));
+    }
+
     @Test
     void handle_shouldTriggerForcedPull() {
         // when
         forcePullHandler.handle();
 
         // then
-        then(gitPull).should().pull(FORCED);
+        then(populateScheduler).should().schedule(FORCED);
     }
 
     @Test
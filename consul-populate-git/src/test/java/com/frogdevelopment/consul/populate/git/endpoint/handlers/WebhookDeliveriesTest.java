@@ -0,0 +1,112 @@
+package com.frogdevelopment.consul.populate.git.endpoint.handlers;
+
+import static com.frogdevelopment.consul.populate.git.pull.Status.FAILURE;
+import static com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery;
+
+class WebhookDeliveriesTest {
+
+    private WebhookDeliveries webhookDeliveries;
+
+    @BeforeEach
+    void setUp() {
+        var webhook = new GitProperties.Webhook();
+        webhook.setQueueCapacity(2);
+        var gitProperties = new GitProperties();
+        gitProperties.setWebhook(webhook);
+        webhookDeliveries = new WebhookDeliveries(gitProperties);
+    }
+
+    @Test
+    void offer_shouldQueueDelivery() {
+        // when
+        var offered = webhookDeliveries.offer("first");
+
+        // then
+        assertThat(offered).isTrue();
+        assertThat(webhookDeliveries.find("first"))
+                .hasValueSatisfying(delivery -> {
+                    assertThat(delivery.state()).isEqualTo(WebhookDelivery.State.QUEUED);
+                    assertThat(delivery.receivedAt()).isNotNull();
+                    assertThat(delivery.completedAt()).isNull();
+                });
+    }
+
+    @Test
+    void offer_shouldReject_whenQueueIsFull() {
+        // given
+        webhookDeliveries.offer("first");
+        webhookDeliveries.offer("second");
+
+        // when
+        var offered = webhookDeliveries.offer("third");
+
+        // then
+        assertThat(offered).isFalse();
+        assertThat(webhookDeliveries.find("third")).isEmpty();
+    }
+
+    @Test
+    void offer_shouldAcceptRedelivery_whenQueueIsFull() {
+        // given
+        webhookDeliveries.offer("first");
+        webhookDeliveries.offer("second");
+
+        // when
+        var offered = webhookDeliveries.offer("first");
+
+        // then
+        assertThat(offered).isTrue();
+    }
+
+    @Test
+    void complete_shouldRecordOutcome_andFreeRoom() {
+        // given
+        webhookDeliveries.offer("first");
+        webhookDeliveries.offer("second");
+
+        // when
+        webhookDeliveries.complete("first", SUCCESS);
+        webhookDeliveries.complete("second", FAILURE);
+
+        // then
+        assertThat(webhookDeliveries.find("first"))
+                .hasValueSatisfying(delivery -> {
+                    assertThat(delivery.state()).isEqualTo(WebhookDelivery.State.SUCCESS);
+                    assertThat(delivery.completedAt()).isNotNull();
+                });
+        assertThat(webhookDeliveries.find("second"))
+                .map(WebhookDelivery::state)
+                .hasValue(WebhookDelivery.State.FAILURE);
+        assertThat(webhookDeliveries.offer("third")).isTrue();
+    }
+
+    @Test
+    void complete_shouldEvictOldestCompletedDeliveries() {
+        // given
+        for (var id : new String[]{"first", "second", "third"}) {
+            webhookDeliveries.offer(id);
+            webhookDeliveries.complete(id, SUCCESS);
+        }
+
+        // then
+        assertThat(webhookDeliveries.find("first")).isEmpty();
+        assertThat(webhookDeliveries.find("second")).isPresent();
+        assertThat(webhookDeliveries.find("third")).isPresent();
+    }
+
+    @Test
+    void complete_shouldIgnoreUnknownDelivery() {
+        // when
+        webhookDeliveries.complete("unknown", SUCCESS);
+
+        // then
+        assertThat(webhookDeliveries.find("unknown")).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.frogdevelopment.consul.populate.git.endpoint.handlers;
 
+import static com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS;
 import static com.frogdevelopment.consul.populate.git.pull.Trigger.WEBHOOK;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -8,6 +9,7 @@ import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -26,7 +28,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.frogdevelopment.consul.populate.git.GitProperties;
 import com.frogdevelopment.consul.populate.git.endpoint.handlers.webhook.WebhookPayloadHandler;
-import com.frogdevelopment.consul.populate.git.pull.GitPull;
+import com.frogdevelopment.consul.populate.git.endpoint.model.WebhookDelivery;
+import com.frogdevelopment.consul.populate.git.pull.PopulateScheduler;
 
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
@@ -40,7 +43,7 @@ class WebhookHandlerTest {
     @Mock
     private ObjectMapper objectMapper;
     @Mock
-    private GitPull gitPull;
+    private PopulateScheduler populateScheduler;
     @Mock
     private WebhookPayloadHandler payloadHandler;
     @Mock
@@ -48,6 +51,7 @@ class WebhookHandlerTest {
     @Mock
     private HttpHeaders httpHeaders;
 
+    private WebhookDeliveries webhookDeliveries;
     private WebhookHandler webhookHandler;
 
     @Nested
@@ -55,7 +59,8 @@ class WebhookHandlerTest {
 
         @BeforeEach
         void setUp() {
-            webhookHandler = new WebhookHandler(gitProperties, objectMapper, gitPull, Optional.empty());
+            webhookDeliveries = new WebhookDeliveries(gitProperties);
+            webhookHandler = new WebhookHandler(gitProperties, objectMapper, populateScheduler, webhookDeliveries, Optional.empty());
         }
 
         @Test
@@ -68,7 +73,7 @@ class WebhookHandlerTest {
 
             // then
             assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
-            then(gitPull).should(never()).pull(any());
+            then(populateScheduler).should(never()).schedule(any());
         }
 
         @Test
@@ -83,7 +88,7 @@ class WebhookHandlerTest {
 
             // then
             assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED.getCode());
-            then(gitPull).should(never()).pull(any());
+            then(populateScheduler).should(never()).schedule(any());
         }
     }
 
@@ -95,7 +100,9 @@ class WebhookHandlerTest {
         @BeforeEach
         void setUp() {
             given(httpRequest.getHeaders()).willReturn(httpHeaders);
-            webhookHandler = new WebhookHandler(gitProperties, objectMapper, gitPull, Optional.of(payloadHandler));
+            webhookDeliveries = new WebhookDeliveries(gitProperties);
+            webhookHandler = new WebhookHandler(gitProperties, objectMapper, populateScheduler, webhookDeliveries,
+                    Optional.of(payloadHandler));
             webhookConfig = new GitProperties.Webhook();
             given(gitProperties.getWebhook()).willReturn(webhookConfig);
             given(payloadHandler.getEventHeaderKey()).willReturn("X-GitHub-Event");
@@ -114,7 +121,7 @@ class WebhookHandlerTest {
 
             // then
             assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
-            then(gitPull).should(never()).pull(any());
+            then(populateScheduler).should(never()).schedule(any());
         }
 
         @Test
@@ -127,7 +134,7 @@ class WebhookHandlerTest {
 
             // then
             assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.BAD_REQUEST.getCode());
-            then(gitPull).should(never()).pull(any());
+            then(populateScheduler).should(never()).schedule(any());
         }
 
         @Nested
@@ -152,13 +159,14 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.UNAUTHORIZED.getCode());
-                then(gitPull).should(never()).pull(any());
+                then(populateScheduler).should(never()).schedule(any());
             }
 
             @ParameterizedTest
             @MethodSource("validSignatures")
             void handle_shouldProceed_whenSignatureValid(String validSignature) throws JsonProcessingException {
                 // given
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(CompletableFuture.completedFuture(SUCCESS));
                 given(httpHeaders.get("X-Hub-Signature-256")).willReturn(validSignature);
                 var jsonNode = new ObjectMapper().createObjectNode().put("ref", "refs/heads/main");
                 given(objectMapper.readTree("body")).willReturn(jsonNode);
@@ -170,7 +178,7 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.ACCEPTED.getCode());
-                then(gitPull).should().pull(WEBHOOK);
+                then(populateScheduler).should().schedule(WEBHOOK);
             }
 
             static Stream<Arguments> validSignatures() {
@@ -196,6 +204,7 @@ class WebhookHandlerTest {
             @MethodSource("matchingBranches")
             void handle_shouldTriggerPull_whenBranchMatches(String ref, String configuredBranch) throws JsonProcessingException {
                 // given
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(CompletableFuture.completedFuture(SUCCESS));
                 var jsonNode = new ObjectMapper().createObjectNode().put("ref", ref);
                 given(objectMapper.readTree("body")).willReturn(jsonNode);
                 given(payloadHandler.extractBranchName(jsonNode)).willReturn(Optional.of(ref));
@@ -206,7 +215,7 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.ACCEPTED.getCode());
-                then(gitPull).should().pull(WEBHOOK);
+                then(populateScheduler).should().schedule(WEBHOOK);
             }
 
             static Stream<Arguments> matchingBranches() {
@@ -230,12 +239,13 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
-                then(gitPull).should(never()).pull(any());
+                then(populateScheduler).should(never()).schedule(any());
             }
 
             @Test
             void handle_shouldTriggerPull_whenHandlerReturnsEmptyBranch() throws JsonProcessingException {
                 // given
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(CompletableFuture.completedFuture(SUCCESS));
                 var jsonNode = new ObjectMapper().createObjectNode();
                 given(objectMapper.readTree("body")).willReturn(jsonNode);
                 given(payloadHandler.extractBranchName(jsonNode)).willReturn(Optional.empty());
@@ -245,7 +255,7 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.ACCEPTED.getCode());
-                then(gitPull).should().pull(WEBHOOK);
+                then(populateScheduler).should().schedule(WEBHOOK);
             }
 
             @Test
@@ -258,7 +268,69 @@ class WebhookHandlerTest {
 
                 // then
                 assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.BAD_REQUEST.getCode());
-                then(gitPull).should(never()).pull(any());
+                then(populateScheduler).should(never()).schedule(any());
+            }
+
+            @Test
+            void handle_shouldReturnDeliveryId_andRecordPullOutcome() throws JsonProcessingException {
+                // given
+                givenMatchingPayload();
+                given(payloadHandler.getDeliveryHeaderKey()).willReturn("X-GitHub-Delivery");
+                given(httpHeaders.get("X-GitHub-Delivery")).willReturn("delivery-id");
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(CompletableFuture.completedFuture(SUCCESS));
+
+                // when
+                var response = webhookHandler.handle(httpRequest, "body");
+
+                // then
+                assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.ACCEPTED.getCode());
+                assertThat(response.getHeaders().get(WebhookHandler.DELIVERY_ID_HEADER)).isEqualTo("delivery-id");
+                assertThat(webhookDeliveries.find("delivery-id"))
+                        .map(WebhookDelivery::state)
+                        .hasValue(WebhookDelivery.State.SUCCESS);
+            }
+
+            @Test
+            void handle_shouldGenerateDeliveryId_whenNoneProvided() throws JsonProcessingException {
+                // given
+                givenMatchingPayload();
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(new CompletableFuture<>());
+
+                // when
+                var response = webhookHandler.handle(httpRequest, "body");
+
+                // then
+                var deliveryId = response.getHeaders().get(WebhookHandler.DELIVERY_ID_HEADER);
+                assertThat(deliveryId).isNotBlank();
+                assertThat(webhookDeliveries.find(deliveryId))
+                        .map(WebhookDelivery::state)
+                        .hasValue(WebhookDelivery.State.QUEUED);
+            }
+
+            @Test
+            void handle_shouldReturnTooManyRequests_whenQueueIsFull() throws JsonProcessingException {
+                // given
+                webhookConfig.setQueueCapacity(1);
+                givenMatchingPayload();
+                given(payloadHandler.getDeliveryHeaderKey()).willReturn("X-GitHub-Delivery");
+                given(httpHeaders.get("X-GitHub-Delivery")).willReturn("first", "second");
+                given(populateScheduler.schedule(WEBHOOK)).willReturn(new CompletableFuture<>());
+                webhookHandler.handle(httpRequest, "body");
+
+                // when
+                var response = webhookHandler.handle(httpRequest, "body");
+
+                // then
+                assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.getCode());
+                then(populateScheduler).should().schedule(WEBHOOK);
+                assertThat(webhookDeliveries.find("second")).isEmpty();
+            }
+
+            private void givenMatchingPayload() throws JsonProcessingException {
+                var jsonNode = new ObjectMapper().createObjectNode().put("ref", "refs/heads/main");
+                given(objectMapper.readTree("body")).willReturn(jsonNode);
+                given(payloadHandler.extractBranchName(jsonNode)).willReturn(Optional.of("refs/heads/main"));
+                given(gitProperties.getBranch()).willReturn("main");
             }
         }
     }
@@ -27,6 +27,11 @@ class BitbucketWebhookPayloadHandlerTest {
         assertThat(handler.getSignatureHeaderKey()).isEqualTo("X-Hub-Signature");
     }
 
+    @Test
+    void getDeliveryHeaderKey_shouldReturnRequestUuid() {
+        assertThat(handler.getDeliveryHeaderKey()).isEqualTo("X-Request-UUID");
+    }
+
     @Test
     void extractBranchName_shouldExtractBranchFromValidPayload() {
         // given
@@ -26,6 +26,11 @@ class GithubWebhookPayloadHandlerTest {
         assertThat(handler.getSignatureHeaderKey()).isEqualTo("X-Hub-Signature-256");
     }
 
+    @Test
+    void getDeliveryHeaderKey_shouldReturnGithubDelivery() {
+        assertThat(handler.getDeliveryHeaderKey()).isEqualTo("X-GitHub-Delivery");
+    }
+
     @Test
     void extractBranchName_shouldExtractBranchFromRef() {
         // given
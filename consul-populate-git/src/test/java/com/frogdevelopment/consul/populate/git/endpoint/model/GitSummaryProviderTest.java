@@ -2,16 +2,20 @@ package com.frogdevelopment.consul.populate.git.endpoint.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.mock;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Set;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +47,11 @@ class GitSummaryProviderTest {
     @InjectMocks
     private GitSummaryProvider gitSummaryProvider;
 
+    @BeforeEach
+    void beforeEach() {
+        given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
+    }
+
     @Nested
     class GenerateSummary {
 
@@ -181,6 +190,59 @@ class GitSummaryProviderTest {
             assertThat(result.repo().dirty()).isTrue();
         }
 
+        @Test
+        void shouldCheckStatusOfRootPathOnly_whenCheckoutRootPathOnly() throws Exception {
+            // given
+            var cloneProperties = new GitProperties.Clone();
+            cloneProperties.setCheckoutRootPathOnly(true);
+            given(gitProperties.getClone()).willReturn(cloneProperties);
+            var fileProperties = new ImportFileProperties();
+            fileProperties.setRootPath("./config/");
+            given(gitProperties.getFileProperties()).willReturn(fileProperties);
+            given(gitProperties.getUri()).willReturn("https://github.com/user/repo.git");
+            given(gitProperties.getBranch()).willReturn("main");
+            given(repositoryDirectoryProvider.getRepository()).willReturn(Path.of("/tmp/repo"));
+
+            var repository = mock(Repository.class);
+            given(git.getRepository()).willReturn(repository);
+            given(repository.resolve("HEAD")).willReturn(null);
+
+            var statusCommand = mock(StatusCommand.class);
+            var status = mock(Status.class);
+            given(git.status()).willReturn(statusCommand);
+            given(statusCommand.call()).willReturn(status);
+            given(status.isClean()).willReturn(true);
+
+            // when
+            var result = gitSummaryProvider.generateSummary();
+
+            // then
+            assertThat(result.repo().dirty()).isFalse();
+            then(statusCommand).should().addPath("config");
+        }
+
+        @Test
+        void shouldNotCheckStatus_whenBare() throws Exception {
+            // given
+            var cloneProperties = new GitProperties.Clone();
+            cloneProperties.setBare(true);
+            given(gitProperties.getClone()).willReturn(cloneProperties);
+            given(gitProperties.getUri()).willReturn("https://github.com/user/repo.git");
+            given(gitProperties.getBranch()).willReturn("main");
+            given(repositoryDirectoryProvider.getRepository()).willReturn(Path.of("/tmp/repo"));
+
+            var repository = mock(Repository.class);
+            given(git.getRepository()).willReturn(repository);
+            given(repository.resolve("HEAD")).willReturn(null);
+
+            // when
+            var result = gitSummaryProvider.generateSummary();
+
+            // then
+            assertThat(result.repo().dirty()).isFalse();
+            then(git).should(never()).status();
+        }
+
         @Test
         void shouldReturnNullHead_whenNoCommitsExist() throws Exception {
             // given
@@ -348,6 +410,7 @@ class GitSummaryProviderTest {
             given(gitProperties.isPollEnabled()).willReturn(true);
             given(gitProperties.getPollInterval()).willReturn(Duration.ofMinutes(5));
             given(gitPull.getTrigger()).willReturn(Trigger.SCHEDULED);
+            given(gitPull.getTriggers()).willReturn(Set.of(Trigger.SCHEDULED, Trigger.WEBHOOK));
             given(gitPull.getLastPullTime()).willReturn("2024-01-15T10:30:00Z");
             given(gitPull.getLastPullDuration()).willReturn("00.123s");
             given(gitPull.getLastPullOutcome()).willReturn(com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS);
@@ -359,6 +422,7 @@ class GitSummaryProviderTest {
             assertThat(result.pull().scheduled()).isTrue();
             assertThat(result.pull().scheduledInterval()).isEqualTo("PT5M");
             assertThat(result.pull().trigger()).isEqualTo(Trigger.SCHEDULED);
+            assertThat(result.pull().triggers()).containsExactlyInAnyOrder(Trigger.SCHEDULED, Trigger.WEBHOOK);
             assertThat(result.pull().lastPullTime()).isEqualTo("2024-01-15T10:30:00Z");
             assertThat(result.pull().lastPullDuration()).isEqualTo("00.123s");
             assertThat(result.pull().lastPullOutcome()).isEqualTo(com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS);
@@ -11,8 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.frogdevelopment.consul.populate.PopulateService;
 import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.pull.GitPull;
 import com.frogdevelopment.consul.populate.git.pull.GitPullJob;
 
 import io.micronaut.runtime.server.event.ServerShutdownEvent;
@@ -22,7 +22,7 @@ import io.micronaut.runtime.server.event.ServerStartupEvent;
 class ServerEventsListenerTest {
 
     @Mock
-    private PopulateService populateService;
+    private GitPull gitPull;
     @Mock
     private GitProperties gitProperties;
     @Mock
@@ -47,7 +47,7 @@ class ServerEventsListenerTest {
             serverEventsListener.onServerStartupEvent(serverStartupEvent);
 
             // then
-            then(populateService).should().populate();
+            then(gitPull).should().populate();
             then(gitPullJob).should().start();
         }
 
@@ -60,7 +60,7 @@ class ServerEventsListenerTest {
             serverEventsListener.onServerStartupEvent(serverStartupEvent);
 
             // then
-            then(populateService).should().populate();
+            then(gitPull).should().populate();
             then(gitPullJob).should(never()).start();
         }
     }
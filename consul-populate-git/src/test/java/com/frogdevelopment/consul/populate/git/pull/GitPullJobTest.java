@@ -12,11 +12,6 @@ import static org.mockito.Mockito.times;
 import java.time.Duration;
 import java.util.concurrent.ScheduledFuture;
 
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.events.IndexChangedEvent;
-import org.eclipse.jgit.events.IndexChangedListener;
-import org.eclipse.jgit.events.ListenerList;
-import org.eclipse.jgit.lib.Repository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -27,7 +22,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.frogdevelopment.consul.populate.PopulateService;
 import com.frogdevelopment.consul.populate.git.GitProperties;
 
 import io.micronaut.scheduling.TaskScheduler;
@@ -38,24 +32,12 @@ class GitPullJobTest {
     @Mock
     private GitProperties gitProperties;
     @Mock
-    private PopulateService populateService;
-    @Mock
     private TaskScheduler taskScheduler;
     @Mock
-    private Git git;
-    @Mock
-    private Repository repository;
-    @Mock
-    private ListenerList listenerList;
-    @Mock
-    private GitPull gitPull;
+    private PopulateScheduler populateScheduler;
     @Mock
     private ScheduledFuture<?> scheduledFuture;
-    @Mock
-    private IndexChangedEvent indexChangedEvent;
 
-    @Captor
-    private ArgumentCaptor<IndexChangedListener> indexChangedListenerCaptor;
     @Captor
     private ArgumentCaptor<Runnable> runnableCaptor;
 
@@ -67,8 +49,6 @@ class GitPullJobTest {
 
         @BeforeEach
         void setUp() {
-            given(git.getRepository()).willReturn(repository);
-            given(repository.getListenerList()).willReturn(listenerList);
             given(gitProperties.getPollInterval()).willReturn(Duration.ofMinutes(5));
             willReturn(scheduledFuture).given(taskScheduler).scheduleWithFixedDelay(any(), any(), any(Runnable.class));
         }
@@ -108,21 +88,6 @@ class GitPullJobTest {
             then(taskScheduler).should(times(2)).scheduleWithFixedDelay(any(), any(), any(Runnable.class));
         }
 
-        @Test
-        void start_shouldRegisterIndexChangedListener_thatTriggersPopulate() {
-            // when
-            gitPullJob.start();
-
-            // then
-            then(listenerList).should().addIndexChangedListener(indexChangedListenerCaptor.capture());
-
-            // when - simulate index change event
-            indexChangedListenerCaptor.getValue().onIndexChanged(indexChangedEvent);
-
-            // then
-            then(populateService).should().populate();
-        }
-
         @Test
         void start_shouldResetStoppingFlag_whenRestartingAfterStop() {
             // given
@@ -144,14 +109,12 @@ class GitPullJobTest {
 
         @BeforeEach
         void setUp() {
-            given(git.getRepository()).willReturn(repository);
-            given(repository.getListenerList()).willReturn(listenerList);
             given(gitProperties.getPollInterval()).willReturn(Duration.ofMinutes(5));
             willReturn(scheduledFuture).given(taskScheduler).scheduleWithFixedDelay(any(), any(), runnableCaptor.capture());
         }
 
         @Test
-        void pull_shouldCallGitPull_whenNotStopping() {
+        void pull_shouldSchedulePull_whenNotStopping() {
             // given
             gitPullJob.start();
 
@@ -159,11 +122,11 @@ class GitPullJobTest {
             runnableCaptor.getValue().run();
 
             // then
-            then(gitPull).should().pull(SCHEDULED);
+            then(populateScheduler).should().schedule(SCHEDULED);
         }
 
         @Test
-        void pull_shouldSkipGitPull_whenStopping() {
+        void pull_shouldSkipPull_whenStopping() {
             // given
             gitPullJob.start();
             gitPullJob.stop();
@@ -172,7 +135,7 @@ class GitPullJobTest {
             runnableCaptor.getValue().run();
 
             // then
-            then(gitPull).shouldHaveNoInteractions();
+            then(populateScheduler).shouldHaveNoInteractions();
         }
     }
 
@@ -180,8 +143,6 @@ class GitPullJobTest {
     class Stop {
 
         private void setUpForRunningJob() {
-            given(git.getRepository()).willReturn(repository);
-            given(repository.getListenerList()).willReturn(listenerList);
             given(gitProperties.getPollInterval()).willReturn(Duration.ofMinutes(5));
             willReturn(scheduledFuture).given(taskScheduler).scheduleWithFixedDelay(any(), any(), any(Runnable.class));
         }
@@ -227,8 +188,6 @@ class GitPullJobTest {
     class IsRunning {
 
         private void setUpForRunningJob() {
-            given(git.getRepository()).willReturn(repository);
-            given(repository.getListenerList()).willReturn(listenerList);
             given(gitProperties.getPollInterval()).willReturn(Duration.ofMinutes(5));
             willReturn(scheduledFuture).given(taskScheduler).scheduleWithFixedDelay(any(), any(), any(Runnable.class));
         }
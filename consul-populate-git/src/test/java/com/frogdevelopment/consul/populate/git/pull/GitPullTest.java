@@ -6,21 +6,45 @@ import static com.frogdevelopment.consul.populate.git.pull.Trigger.FORCED;
 import static com.frogdevelopment.consul.populate.git.pull.Trigger.SCHEDULED;
 import static com.frogdevelopment.consul.populate.git.pull.Trigger.WEBHOOK;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.PullCommand;
 import org.eclipse.jgit.api.PullResult;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.frogdevelopment.consul.populate.PopulateMetrics;
+import com.frogdevelopment.consul.populate.PopulateService;
+import com.frogdevelopment.consul.populate.files.ImportFileProperties;
+import com.frogdevelopment.consul.populate.git.GitProperties;
+import com.frogdevelopment.consul.populate.git.SparseCheckout;
+
 @ExtendWith(MockitoExtension.class)
 class GitPullTest {
 
@@ -30,6 +54,14 @@ class GitPullTest {
     private PullCommand pullCommand;
     @Mock
     private PullResult pullResult;
+    @Mock
+    private Repository repository;
+    @Mock
+    private GitProperties gitProperties;
+    @Mock
+    private PopulateService populateService;
+    @Mock
+    private PopulateMetrics populateMetrics;
 
     @InjectMocks
     private GitPull gitPull;
@@ -37,6 +69,13 @@ class GitPullTest {
     @Nested
     class Pull {
 
+        @BeforeEach
+        void beforeEach() throws IOException {
+            given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
+            given(git.getRepository()).willReturn(repository);
+            given(repository.resolve(Constants.HEAD)).willReturn(ObjectId.fromString("0123456789012345678901234567890123456789"));
+        }
+
         @ParameterizedTest
         @EnumSource(Trigger.class)
         void pull_shouldSetTrigger(Trigger trigger) throws Exception {
@@ -52,6 +91,23 @@ class GitPullTest {
             assertThat(gitPull.getTrigger()).isEqualTo(trigger);
         }
 
+        @Test
+        void pull_shouldRecordMergedTriggers() throws Exception {
+            // given
+            given(git.pull()).willReturn(pullCommand);
+            given(pullCommand.call()).willReturn(pullResult);
+            given(pullResult.isSuccessful()).willReturn(true);
+
+            // when
+            var status = gitPull.pull(new LinkedHashSet<>(List.of(WEBHOOK, SCHEDULED, FORCED)));
+
+            // then
+            assertThat(status).isEqualTo(SUCCESS);
+            assertThat(gitPull.getTrigger()).isEqualTo(WEBHOOK);
+            assertThat(gitPull.getTriggers()).containsExactly(WEBHOOK, SCHEDULED, FORCED);
+            then(populateMetrics).should().pulled(eq("WEBHOOK"), eq("SUCCESS"), any());
+        }
+
         @Test
         void pull_shouldSetLastPullTime() throws Exception {
             // given
@@ -110,6 +166,20 @@ class GitPullTest {
             assertThat(gitPull.getLastPullOutcome()).isEqualTo(FAILURE);
         }
 
+        @Test
+        void pull_shouldRecordMetrics() throws Exception {
+            // given
+            given(git.pull()).willReturn(pullCommand);
+            given(pullCommand.call()).willReturn(pullResult);
+            given(pullResult.isSuccessful()).willReturn(false);
+
+            // when
+            gitPull.pull(WEBHOOK);
+
+            // then
+            then(populateMetrics).should().pulled(eq("WEBHOOK"), eq("FAILURE"), any());
+        }
+
         @Test
         void pull_shouldCallGitPull() throws Exception {
             // given
@@ -123,6 +193,7 @@ class GitPullTest {
             // then
             then(git).should().pull();
             then(pullCommand).should().call();
+            then(populateService).shouldHaveNoInteractions();
         }
 
         @Test
@@ -169,6 +240,12 @@ class GitPullTest {
             assertThat(gitPull.getTrigger()).isNull();
         }
 
+        @Test
+        void getTriggers_shouldReturnEmpty_whenNoPullHasOccurred() {
+            // when/then
+            assertThat(gitPull.getTriggers()).isEmpty();
+        }
+
         @Test
         void getLastPullTime_shouldReturnNull_whenNoPullHasOccurred() {
             // when/then
@@ -187,4 +264,283 @@ class GitPullTest {
             assertThat(gitPull.getLastPullOutcome()).isNull();
         }
     }
+
+    @Nested
+    class PopulateChanges {
+
+        @TempDir
+        private Path tempDir;
+
+        private Git origin;
+        private Git clone;
+        private GitPull gitPullWithRepository;
+
+        @BeforeEach
+        void beforeEach() throws Exception {
+            origin = Git.init().setDirectory(tempDir.resolve("origin").toFile()).setInitialBranch("main").call();
+            write("config/application.yaml", "application: root");
+            write("config/dev/application.yaml", "application: dev");
+            write("config/orders.yaml", "orders: root");
+            write("config/users.yaml", "users: root");
+            write("README.md", "readme");
+            commit("initial");
+
+            clone = Git.cloneRepository()
+                    .setURI(tempDir.resolve("origin").toUri().toString())
+                    .setDirectory(tempDir.resolve("clone").toFile())
+                    .setBranch("main")
+                    .call();
+            gitPullWithRepository = new GitPull(clone, gitProperties, populateService, populateMetrics);
+            given(gitProperties.getClone()).willReturn(new GitProperties.Clone());
+        }
+
+        @AfterEach
+        void afterEach() {
+            origin.close();
+            clone.close();
+        }
+
+        private void givenFileProperties() {
+            var fileProperties = new ImportFileProperties();
+            fileProperties.setRootPath("config");
+            fileProperties.setTarget("dev");
+            given(gitProperties.getFileProperties()).willReturn(fileProperties);
+        }
+
+        private void write(final String path, final String content) throws IOException {
+            var file = tempDir.resolve("origin").resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content);
+        }
+
+        private void commit(final String message) throws GitAPIException {
+            origin.add().addFilepattern(".").call();
+            origin.add().addFilepattern(".").setUpdate(true).call();
+            origin.commit().setMessage(message).setAuthor("test", "test@frog.dev").setSign(false).call();
+        }
+
+        @Test
+        void pull_shouldPopulateOnlyChangedKeys() throws Exception {
+            // given
+            givenFileProperties();
+            write("config/dev/application.yaml", "application: new dev");
+            Files.delete(tempDir.resolve("origin/config/orders.yaml"));
+            write("config/other/ignored.yaml", "ignored: true");
+            write("README.md", "new readme");
+            commit("changes");
+
+            // when
+            gitPullWithRepository.pull(WEBHOOK);
+
+            // then
+            then(populateService).should().populate(Set.of("application", "orders"));
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateChangedPaths_whenRecursive() throws Exception {
+            // given
+            var fileProperties = new ImportFileProperties();
+            fileProperties.setRootPath("config");
+            fileProperties.setTarget("dev");
+            fileProperties.setRecursive(true);
+            fileProperties.setExcludedDirectories(List.of("prod"));
+            given(gitProperties.getFileProperties()).willReturn(fileProperties);
+            write("config/services/orders.yaml", "orders: root");
+            write("config/dev/services/users.yaml", "users: dev");
+            write("config/dev/application.yaml", "application: new dev");
+            write("config/prod/application.yaml", "application: prod");
+            write("README.md", "new readme");
+            commit("changes");
+
+            // when
+            gitPullWithRepository.pull(WEBHOOK);
+
+            // then
+            then(populateService).should().populate(Set.of("services/orders", "services/users", "application"));
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateChangedKeys_whenOnlyAnAdditionalTargetChanged() throws Exception {
+            // given
+            var prod = new ImportFileProperties.Target();
+            prod.setName("prod");
+            var fileProperties = new ImportFileProperties();
+            fileProperties.setRootPath("config");
+            fileProperties.setTarget("dev");
+            fileProperties.setTargets(List.of(prod));
+            given(gitProperties.getFileProperties()).willReturn(fileProperties);
+            write("config/prod/application.yaml", "application: prod");
+            commit("prod only");
+
+            // when
+            gitPullWithRepository.pull(WEBHOOK);
+
+            // then
+            then(populateService).should().populate(Set.of("application"));
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateChangesAgain_whenPopulateFailed() throws Exception {
+            // given
+            givenFileProperties();
+            write("config/dev/application.yaml", "application: new dev");
+            commit("changes");
+            willThrow(new IllegalStateException("Some keys could not be populated"))
+                    .willDoNothing()
+                    .given(populateService).populate(Set.of("application"));
+
+            // when
+            var failedStatus = gitPullWithRepository.pull(WEBHOOK);
+            var status = gitPullWithRepository.pull(SCHEDULED);
+
+            // then
+            assertThat(failedStatus).isEqualTo(FAILURE);
+            assertThat(status).isEqualTo(SUCCESS);
+            then(populateService).should(times(2)).populate(Set.of("application"));
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateAll_whenStartupPopulateFailed() throws Exception {
+            // given
+            willThrow(new IllegalStateException("Consul is not reachable/ready to be populate"))
+                    .willDoNothing()
+                    .given(populateService).populate();
+            write("config/dev/application.yaml", "application: new dev");
+            commit("changes");
+
+            // when
+            var startupStatus = gitPullWithRepository.populate();
+            var status = gitPullWithRepository.pull(WEBHOOK);
+
+            // then
+            assertThat(startupStatus).isEqualTo(FAILURE);
+            assertThat(status).isEqualTo(SUCCESS);
+            then(populateService).should(times(2)).populate();
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateAll_whenForced() throws Exception {
+            // when
+            var status = gitPullWithRepository.pull(FORCED);
+
+            // then
+            assertThat(status).isEqualTo(SUCCESS);
+            then(populateService).should().populate();
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldPopulateAll_whenPreviousPopulateAllFailed() throws Exception {
+            // given
+            willThrow(new IllegalStateException("Some keys could not be populated"))
+                    .willDoNothing()
+                    .given(populateService).populate();
+
+            // when
+            var failedStatus = gitPullWithRepository.pull(FORCED);
+            var status = gitPullWithRepository.pull(SCHEDULED);
+            var nothingToPopulateStatus = gitPullWithRepository.pull(SCHEDULED);
+
+            // then
+            assertThat(failedStatus).isEqualTo(FAILURE);
+            assertThat(status).isEqualTo(SUCCESS);
+            assertThat(nothingToPopulateStatus).isEqualTo(SUCCESS);
+            then(populateService).should(times(2)).populate();
+            then(populateService).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void pull_shouldNotPopulate_whenNoConfigurationChanged() throws Exception {
+            // given
+            givenFileProperties();
+            write("README.md", "new readme");
+            commit("readme only");
+
+            // when
+            gitPullWithRepository.pull(WEBHOOK);
+
+            // then
+            then(populateService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        void pull_shouldUpdateOnlyRootPath_whenCheckoutRootPathOnly() throws Exception {
+            // given
+            givenFileProperties();
+            var cloneProperties = new GitProperties.Clone();
+            cloneProperties.setCheckoutRootPathOnly(true);
+            given(gitProperties.getClone()).willReturn(cloneProperties);
+            given(gitProperties.getBranch()).willReturn("main");
+            try (var rootPathOnly = Git.cloneRepository()
+                    .setURI(tempDir.resolve("origin").toUri().toString())
+                    .setDirectory(tempDir.resolve("root-path-only").toFile())
+                    .setBranch("main")
+                    .setNoCheckout(true)
+                    .call()) {
+                SparseCheckout.checkout(rootPathOnly, "config");
+
+                write("config/dev/application.yaml", "application: new dev");
+                Files.delete(tempDir.resolve("origin/config/orders.yaml"));
+                write("config/products.yaml", "products: root");
+                write("README.md", "new readme");
+                commit("changes");
+
+                // when
+                var status = new GitPull(rootPathOnly, gitProperties, populateService, populateMetrics).pull(WEBHOOK);
+
+                // then
+                var workTree = tempDir.resolve("root-path-only");
+                assertThat(status).isEqualTo(SUCCESS);
+                assertThat(rootPathOnly.getRepository().resolve(Constants.HEAD))
+                        .isEqualTo(origin.getRepository().resolve(Constants.HEAD));
+                assertThat(workTree.resolve("config/dev/application.yaml")).hasContent("application: new dev");
+                assertThat(workTree.resolve("config/products.yaml")).hasContent("products: root");
+                assertThat(workTree.resolve("config/orders.yaml")).doesNotExist();
+                assertThat(workTree.resolve("README.md")).doesNotExist();
+                assertThat(rootPathOnly.status().addPath("config").call().isClean()).isTrue();
+                then(populateService).should().populate(Set.of("application", "orders", "products"));
+            }
+        }
+
+        @Test
+        void pull_shouldFetchOnly_whenBare() throws Exception {
+            // given
+            givenFileProperties();
+            var cloneProperties = new GitProperties.Clone();
+            cloneProperties.setBare(true);
+            given(gitProperties.getClone()).willReturn(cloneProperties);
+            try (var bare = Git.cloneRepository()
+                    .setURI(tempDir.resolve("origin").toUri().toString())
+                    .setDirectory(tempDir.resolve("bare").toFile())
+                    .setBare(true)
+                    .setBranch("main")
+                    .call()) {
+                write("config/users.yaml", "users: new root");
+                commit("changes");
+
+                // when
+                var status = new GitPull(bare, gitProperties, populateService, populateMetrics).pull(WEBHOOK);
+
+                // then
+                assertThat(status).isEqualTo(SUCCESS);
+                assertThat(bare.getRepository().resolve(Constants.HEAD))
+                        .isEqualTo(origin.getRepository().resolve(Constants.HEAD));
+                then(populateService).should().populate(Set.of("users"));
+            }
+        }
+
+        @Test
+        void pull_shouldNotPopulate_whenNothingToPull() {
+            // when
+            gitPullWithRepository.pull(SCHEDULED);
+
+            // then
+            then(populateService).shouldHaveNoInteractions();
+        }
+    }
 }
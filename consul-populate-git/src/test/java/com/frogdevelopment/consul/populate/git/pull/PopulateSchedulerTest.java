@@ -0,0 +1,219 @@
+package com.frogdevelopment.consul.populate.git.pull;
+
+import static com.frogdevelopment.consul.populate.git.pull.Status.FAILURE;
+import static com.frogdevelopment.consul.populate.git.pull.Status.SUCCESS;
+import static com.frogdevelopment.consul.populate.git.pull.Trigger.FORCED;
+import static com.frogdevelopment.consul.populate.git.pull.Trigger.SCHEDULED;
+import static com.frogdevelopment.consul.populate.git.pull.Trigger.WEBHOOK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SequencedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.frogdevelopment.consul.populate.git.GitProperties;
+
+import io.micronaut.scheduling.TaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class PopulateSchedulerTest {
+
+    private static final Duration QUIET_WINDOW = Duration.ofSeconds(2);
+
+    @Mock
+    private GitProperties gitProperties;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private GitPull gitPull;
+
+    @Captor
+    private ArgumentCaptor<Duration> delayCaptor;
+    @Captor
+    private ArgumentCaptor<Runnable> runnableCaptor;
+    @Captor
+    private ArgumentCaptor<SequencedSet<Trigger>> triggersCaptor;
+
+    @InjectMocks
+    private PopulateScheduler populateScheduler;
+
+    private final List<ScheduledFuture<?>> scheduledRuns = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        given(gitProperties.getQuietWindow()).willReturn(QUIET_WINDOW);
+        willAnswer(invocation -> {
+            var scheduledRun = mock(ScheduledFuture.class);
+            scheduledRuns.add(scheduledRun);
+            return scheduledRun;
+        }).given(taskScheduler).schedule(delayCaptor.capture(), runnableCaptor.capture());
+    }
+
+    @Test
+    void schedule_shouldPull_afterQuietWindow() {
+        // given
+        given(gitPull.pull(any(SequencedSet.class))).willReturn(SUCCESS);
+        var completion = populateScheduler.schedule(WEBHOOK).toCompletableFuture();
+        then(gitPull).shouldHaveNoInteractions();
+        assertThat(completion).isNotDone();
+
+        // when
+        runnableCaptor.getValue().run();
+
+        // then
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK);
+        assertThat(completion).isCompletedWithValue(SUCCESS);
+    }
+
+    @Test
+    void schedule_shouldMergeTriggers_receivedWithinQuietWindow() {
+        // given
+        given(gitProperties.getMaxWait()).willReturn(Duration.ofSeconds(30));
+        var webhook = populateScheduler.schedule(WEBHOOK).toCompletableFuture();
+        var scheduled = populateScheduler.schedule(SCHEDULED).toCompletableFuture();
+        var forced = populateScheduler.schedule(FORCED).toCompletableFuture();
+
+        // when
+        runnableCaptor.getValue().run();
+
+        // then
+        then(scheduledRuns.get(0)).should().cancel(false);
+        then(scheduledRuns.get(1)).should().cancel(false);
+        // the forced trigger does not wait for the quiet window
+        assertThat(delayCaptor.getAllValues()).containsExactly(QUIET_WINDOW, QUIET_WINDOW, Duration.ZERO);
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK, SCHEDULED, FORCED);
+        assertThat(webhook).isCompleted();
+        assertThat(scheduled).isCompleted();
+        assertThat(forced).isCompleted();
+    }
+
+    @Test
+    void schedule_shouldNotPullAgain_whenCancelledRunStillFires() {
+        // given
+        given(gitProperties.getMaxWait()).willReturn(Duration.ofSeconds(30));
+        populateScheduler.schedule(WEBHOOK);
+        populateScheduler.schedule(WEBHOOK);
+        runnableCaptor.getAllValues().getLast().run();
+
+        // when
+        runnableCaptor.getAllValues().getFirst().run();
+
+        // then
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK);
+    }
+
+    @Test
+    void schedule_shouldPullWithoutQuietWindow_whenForced() {
+        // given
+        given(gitPull.pull(any(SequencedSet.class))).willReturn(SUCCESS);
+
+        var pending = populateScheduler.schedule(WEBHOOK).toCompletableFuture();
+
+        // when
+        var completion = populateScheduler.schedule(FORCED).toCompletableFuture();
+        runnableCaptor.getValue().run();
+
+        // then
+        then(scheduledRuns.getFirst()).should().cancel(false);
+        assertThat(delayCaptor.getValue()).isEqualTo(Duration.ZERO);
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK, FORCED);
+        assertThat(pending).isCompletedWithValue(SUCCESS);
+        assertThat(completion).isCompletedWithValue(SUCCESS);
+    }
+
+    @Test
+    void schedule_shouldNotRun_whenNotTheScheduledRunAnymore() {
+        // given
+        given(gitProperties.getMaxWait()).willReturn(Duration.ofSeconds(30));
+        populateScheduler.schedule(WEBHOOK);
+        var scheduled = populateScheduler.schedule(SCHEDULED).toCompletableFuture();
+
+        // when
+        // the first run fires while being cancelled by the second trigger
+        runnableCaptor.getAllValues().getFirst().run();
+
+        // then
+        then(gitPull).shouldHaveNoInteractions();
+        assertThat(scheduled).isNotDone();
+
+        // when
+        runnableCaptor.getAllValues().getLast().run();
+
+        // then
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK, SCHEDULED);
+        assertThat(scheduled).isCompleted();
+    }
+
+    @Test
+    void schedule_shouldNotRestartQuietWindow_beyondMaxWait() {
+        // given
+        given(gitProperties.getMaxWait()).willReturn(QUIET_WINDOW.minusNanos(1));
+        var webhook = populateScheduler.schedule(WEBHOOK).toCompletableFuture();
+
+        // when
+        var scheduled = populateScheduler.schedule(SCHEDULED).toCompletableFuture();
+        runnableCaptor.getValue().run();
+
+        // then
+        assertThat(runnableCaptor.getAllValues()).hasSize(1);
+        then(scheduledRuns.getFirst()).shouldHaveNoInteractions();
+        then(gitPull).should().pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getValue()).containsExactly(WEBHOOK, SCHEDULED);
+        assertThat(webhook).isCompleted();
+        assertThat(scheduled).isCompleted();
+    }
+
+    @Test
+    void schedule_shouldMergeTriggers_receivedWhilePulling_intoSingleFollowUp() {
+        // given
+        var followUps = new ArrayList<CompletableFuture<Status>>();
+        willAnswer(invocation -> {
+            followUps.add(populateScheduler.schedule(FORCED).toCompletableFuture());
+            followUps.add(populateScheduler.schedule(SCHEDULED).toCompletableFuture());
+            // nothing is scheduled while a pull is in flight
+            assertThat(runnableCaptor.getAllValues()).hasSize(1);
+            return SUCCESS;
+        }).willReturn(FAILURE).given(gitPull).pull(any(SequencedSet.class));
+        populateScheduler.schedule(WEBHOOK);
+
+        // when
+        runnableCaptor.getValue().run();
+
+        // then
+        assertThat(runnableCaptor.getAllValues()).hasSize(2);
+        assertThat(delayCaptor.getAllValues().getLast()).isEqualTo(Duration.ZERO);
+        assertThat(followUps).noneMatch(CompletableFuture::isDone);
+
+        // when
+        runnableCaptor.getValue().run();
+
+        // then
+        then(gitPull).should(times(2)).pull(triggersCaptor.capture());
+        assertThat(triggersCaptor.getAllValues().getFirst()).containsExactly(WEBHOOK);
+        assertThat(triggersCaptor.getAllValues().getLast()).containsExactly(FORCED, SCHEDULED);
+        assertThat(followUps).allMatch(followUp -> followUp.join() == FAILURE);
+    }
+}
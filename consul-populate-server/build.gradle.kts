@@ -17,6 +17,7 @@ dependencies {
 
     implementation(projects.consulPopulateGit)
     implementation(mn.micronaut.management)
+    implementation(mn.micronaut.micrometer.registry.prometheus)
 
     compileOnly(mn.lombok)
 
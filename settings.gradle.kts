@@ -8,6 +8,7 @@ rootProject.name = "consul-populate"
 enableFeaturePreview("TYPESAFE_PROJECT_ACCESSORS")
 
 include(
+    "consul-populate-benchmarks",
     "consul-populate-cli",
     "consul-populate-core",
     "consul-populate-git",